@@ -0,0 +1,23 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.core.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Exposes BasePage's protected actions to the benchmarks.
+ */
+public class BenchPage extends BasePage {
+
+    public WebElement visible(By locator) {
+        return waitVisible(locator);
+    }
+
+    public void clickOn(By locator) {
+        click(locator);
+    }
+
+    public void typeInto(By locator, String text) {
+        type(locator, text);
+    }
+}
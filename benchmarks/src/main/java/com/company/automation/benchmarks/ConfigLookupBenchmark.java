@@ -0,0 +1,64 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration lookups as done by every page and driver: string/int accessors on the snapshot, the
+ * pre-parsed typed accessor, and the old System.getProperty-then-Properties lookup for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+public class ConfigLookupBenchmark {
+
+    private final Properties legacy = new Properties();
+
+    @Setup
+    public void load() throws IOException {
+        ConfigurationManager.config();
+        try (InputStream in = ConfigLookupBenchmark.class.getResourceAsStream("/config/config-bench.properties")) {
+            legacy.load(in);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return ConfigurationManager.get("base.url");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return ConfigurationManager.getInt("explicit.wait");
+    }
+
+    @Benchmark
+    public Duration typedExplicitWait() {
+        return ConfigurationManager.config().getExplicitWait();
+    }
+
+    @Benchmark
+    public int legacyPropertiesGetInt() {
+        String sys = System.getProperty("explicit.wait");
+        String value = sys != null && !sys.isEmpty() ? sys : legacy.getProperty("explicit.wait");
+        return Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.driver.BrowserType;
+import com.company.automation.framework.driver.DriverBinaries;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the driver-binary step that used to run before every session.
+ *
+ * perSessionWebDriverManagerSetup is what DriverFactory did per scenario before;
+ * memoizedResolve is what it does now after the first session in the JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+public class DriverBinaryResolutionBenchmark {
+
+    @Setup
+    public void resolveOnce() {
+        DriverBinaries.resolve(BrowserType.CHROME);
+    }
+
+    @Benchmark
+    public void perSessionWebDriverManagerSetup() {
+        WebDriverManager.chromedriver().setup();
+    }
+
+    @Benchmark
+    public String memoizedResolve() {
+        return DriverBinaries.resolve(BrowserType.CHROME);
+    }
+}
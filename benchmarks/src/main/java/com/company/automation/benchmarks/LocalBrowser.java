@@ -0,0 +1,55 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.driver.BrowserType;
+import com.company.automation.framework.driver.DriverFactory;
+import com.company.automation.framework.driver.DriverManager;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Headless Chrome bound to the current thread, pointed at a {@link StaticSwagLabsServer}.
+ *
+ * The server is started once per JVM, before anything reads the configuration, and base.url is set
+ * to its address so BasePage.open() and the page objects resolve against it.
+ */
+final class LocalBrowser implements AutoCloseable {
+
+    private static StaticSwagLabsServer server;
+
+    private final WebDriver driver;
+
+    LocalBrowser() {
+        String baseUrl = startServer();
+        if (!baseUrl.equals(ConfigurationManager.config().getBaseUrl())) {
+            throw new IllegalStateException("Configuration was loaded before the local server started");
+        }
+        driver = DriverFactory.createInstance(BrowserType.CHROME);
+        DriverManager.setDriver(driver);
+    }
+
+    private static synchronized String startServer() {
+        if (server == null) {
+            try {
+                server = new StaticSwagLabsServer();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the static Swag Labs server", e);
+            }
+            System.setProperty("base.url", server.baseUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "static-swag-labs-stop"));
+        }
+        return server.baseUrl();
+    }
+
+    void open(String path) {
+        driver.get(ConfigurationManager.config().getBaseUrl() + path);
+    }
+
+    @Override
+    public void close() {
+        DriverManager.setDriver(null);
+        driver.quit();
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.pages.InventoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator construction done per product in the inventory steps: the add-to-cart button (name -> slug
+ * -> CSS) and the price element (name -> XPath).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+public class LocatorBuildBenchmark {
+
+    @Param({"Sauce Labs Backpack", "Test.allTheThings() T-Shirt (Red)"})
+    public String productName;
+
+    @Benchmark
+    public By addToCartSlugLocator() {
+        return InventoryPage.addToCartButton(productName);
+    }
+
+    @Benchmark
+    public By priceXPathLocator() {
+        return InventoryPage.priceOfProduct(productName);
+    }
+}
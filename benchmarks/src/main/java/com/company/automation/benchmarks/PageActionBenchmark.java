@@ -0,0 +1,134 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.core.ElementRow;
+import com.company.automation.framework.pages.CartPage;
+import com.company.automation.framework.pages.InventoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-action latency of the BasePage primitives against the static Swag Labs pages in headless Chrome:
+ * page construction, waitVisible, click and type, plus the bulk list reads used by InventoryPage/CartPage.
+ * Needs a local Chrome installation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Denv=bench", "-Dbrowser=chrome-headless"})
+public class PageActionBenchmark {
+
+    private static final By PRODUCTS_TITLE = By.cssSelector("span.title");
+    private static final By ADD_BACKPACK = InventoryPage.addToCartButton("Sauce Labs Backpack");
+    private static final By FIRST_NAME = By.id("first-name");
+
+    /** One browser per benchmark thread, parked on the inventory page. */
+    @State(Scope.Thread)
+    public static class OnInventory {
+        LocalBrowser browser;
+        BenchPage page;
+        InventoryPage inventory;
+
+        @Setup(Level.Trial)
+        public void start() {
+            browser = new LocalBrowser();
+            browser.open("/inventory.html");
+            page = new BenchPage();
+            inventory = new InventoryPage();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            browser.close();
+        }
+    }
+
+    /** One browser per benchmark thread, parked on the checkout information form. */
+    @State(Scope.Thread)
+    public static class OnCheckoutForm {
+        LocalBrowser browser;
+        BenchPage page;
+
+        @Setup(Level.Trial)
+        public void start() {
+            browser = new LocalBrowser();
+            browser.open("/checkout-step-one.html");
+            page = new BenchPage();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            browser.close();
+        }
+    }
+
+    /** One browser per benchmark thread, parked on the cart page. */
+    @State(Scope.Thread)
+    public static class OnCart {
+        LocalBrowser browser;
+        CartPage cart;
+
+        @Setup(Level.Trial)
+        public void start() {
+            browser = new LocalBrowser();
+            browser.open("/cart.html");
+            cart = new CartPage();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            browser.close();
+        }
+    }
+
+    @Benchmark
+    public BenchPage constructPage(OnInventory state) {
+        return new BenchPage();
+    }
+
+    @Benchmark
+    public WebElement waitVisible(OnInventory state) {
+        return state.page.visible(PRODUCTS_TITLE);
+    }
+
+    @Benchmark
+    public void click(OnInventory state) {
+        // The static page has no React handlers, so the button stays "Add to cart" and can be clicked repeatedly.
+        state.page.clickOn(ADD_BACKPACK);
+    }
+
+    @Benchmark
+    public void type(OnCheckoutForm state) {
+        state.page.typeInto(FIRST_NAME, "John");
+    }
+
+    @Benchmark
+    public List<ElementRow> readProducts(OnInventory state) {
+        return state.inventory.readProducts();
+    }
+
+    @Benchmark
+    public boolean isProductVisible(OnInventory state) {
+        return state.inventory.isProductVisible("Sauce Labs Fleece Jacket");
+    }
+
+    @Benchmark
+    public double getProductPriceInCart(OnCart state) {
+        return state.cart.getProductPriceInCart("Sauce Labs Bike Light");
+    }
+}
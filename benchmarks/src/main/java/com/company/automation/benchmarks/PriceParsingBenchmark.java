@@ -0,0 +1,35 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.utils.Prices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price parsing as done by CartPage ("$29.99") and CheckoutPage ("Item total: $39.98").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+public class PriceParsingBenchmark {
+
+    @Param({"$29.99", "Item total: $39.98"})
+    public String priceText;
+
+    @Benchmark
+    public double parse() {
+        return Prices.parse(priceText);
+    }
+}
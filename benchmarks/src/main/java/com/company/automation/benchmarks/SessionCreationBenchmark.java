@@ -0,0 +1,48 @@
+package com.company.automation.benchmarks;
+
+import com.company.automation.framework.driver.BrowserType;
+import com.company.automation.framework.driver.DriverBinaries;
+import com.company.automation.framework.driver.DriverFactory;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end headless Chrome session creation + quit, before and after memoizing driver resolution.
+ * Needs a local Chrome installation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Denv=bench", "-Dbrowser=chrome-headless"})
+public class SessionCreationBenchmark {
+
+    @Param({"perSessionSetup", "memoized"})
+    public String resolution;
+
+    @Setup
+    public void resolveOnce() {
+        DriverBinaries.resolve(BrowserType.CHROME);
+    }
+
+    @Benchmark
+    public void createAndQuitSession() {
+        if ("perSessionSetup".equals(resolution)) {
+            WebDriverManager.chromedriver().setup();
+        }
+        DriverFactory.createInstance(BrowserType.CHROME).quit();
+    }
+}
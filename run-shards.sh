@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# ============================================
+# Run the suite as N shards in parallel local JVMs, then merge the results
+# Usage: ./run-shards.sh <shards> [maven args, e.g. -Pqa-chrome-headless -Dcucumber.filter.tags="@smoke"]
+# ============================================
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+SHARDS="${1:?usage: $0 <shards> [maven args]}"
+shift
+
+# Compile once; the shard JVMs only run surefire against the compiled classes.
+mvn -B -q "$@" test-compile
+rm -rf target/shard-*
+
+pids=()
+for ((i = 0; i < SHARDS; i++)); do
+    mkdir -p "target/shard-$i"
+    mvn -B "$@" surefire:test \
+        -Dshard.index="$i" -Dshard.total="$SHARDS" \
+        -Dallure.results.directory="target/shard-$i/allure-results" \
+        -DreportsDirectory="target/shard-$i/surefire-reports" \
+        > "target/shard-$i/maven.log" 2>&1 &
+    pids+=($!)
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if ! wait "${pids[$i]}"; then
+        echo "[WARN] Shard $i failed, see target/shard-$i/maven.log"
+        status=1
+    fi
+done
+
+mvn -B -q -Pmerge-shards exec:java
+echo "Merged results: target/allure-results, summary: target/shard-summary.json"
+exit $status
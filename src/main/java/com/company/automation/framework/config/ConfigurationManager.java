@@ -1,22 +1,27 @@
 package com.company.automation.framework.config;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.util.Map;
 
 /**
- * Central configuration loader.
+ * Central configuration access.
  *
- * Order of precedence:
+ * Order of precedence (highest first):
  * 1. System properties (-Dkey=value)
- * 2. Properties file: config/config-<env>.properties
+ * 2. Environment variables (EXPLICIT_WAIT for explicit.wait, ...)
+ * 3. Properties file: config/config-&lt;env&gt;.properties
+ * 4. Framework defaults: config/defaults.properties
  *
  * env is passed as -Denv=qa (default is "qa").
+ *
+ * Values are read from an immutable {@link FrameworkConfig} snapshot built once on first use,
+ * so lookups never contend between parallel workers. A worker can run with its own overrides
+ * via {@link #overrideForCurrentThread(Map)}.
  */
 public final class ConfigurationManager {
 
-    private static final Properties PROPS = new Properties();
     private static final String ENV;
+    private static final FrameworkConfig GLOBAL;
+    private static final ThreadLocal<FrameworkConfig> THREAD_OVERRIDE = new ThreadLocal<>();
 
     static {
         // Read env from system property, but fall back to "qa" if null/empty
@@ -26,41 +31,57 @@ public final class ConfigurationManager {
         } else {
             ENV = sysEnv.trim();
         }
-        String fileName = String.format("config/config-%s.properties", ENV);
-        try (InputStream is = Thread.currentThread()
-                .getContextClassLoader()
-                .getResourceAsStream(fileName)) {
-            if (is == null) {
-                throw new IllegalStateException("Config file not found on classpath: " + fileName);
-            }
-            PROPS.load(is);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load config file: " + fileName, e);
-        }
+        GLOBAL = FrameworkConfig.load(ENV);
     }
 
     private ConfigurationManager() {
         // utility class
     }
 
+    /**
+     * The snapshot in effect for the calling thread.
+     */
+    public static FrameworkConfig config() {
+        FrameworkConfig override = THREAD_OVERRIDE.get();
+        return override != null ? override : GLOBAL;
+    }
+
+    /**
+     * Run the current thread (worker) with some keys replaced; other threads keep the global snapshot.
+     */
+    public static void overrideForCurrentThread(Map<String, String> overrides) {
+        THREAD_OVERRIDE.set(GLOBAL.withOverrides(overrides));
+    }
+
+    public static void clearThreadOverride() {
+        THREAD_OVERRIDE.remove();
+    }
+
     public static String get(String key) {
-        // System property overrides file property
-        String sys = System.getProperty(key);
-        if (sys != null && !sys.isEmpty()) {
-            return sys;
-        }
-        String val = PROPS.getProperty(key);
-        if (val == null) {
-            throw new IllegalArgumentException("Missing config key: " + key);
-        }
-        return val;
+        return config().get(key);
+    }
+
+    /**
+     * Same as {@link #get(String)}, but returns {@code defaultValue} for optional keys
+     * that are not set in any configuration source.
+     */
+    public static String get(String key, String defaultValue) {
+        return config().get(key, defaultValue);
     }
 
     public static int getInt(String key) {
-        return Integer.parseInt(get(key));
+        return config().getInt(key);
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        return config().getInt(key, defaultValue);
     }
 
     public static boolean getBoolean(String key) {
-        return Boolean.parseBoolean(get(key));
+        return config().getBoolean(key);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return config().getBoolean(key, defaultValue);
     }
 }
@@ -0,0 +1,235 @@
+package com.company.automation.framework.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-parsed configuration snapshot.
+ *
+ * Built once from layered sources, lowest precedence first:
+ * 1. config/defaults.properties (framework defaults, optional)
+ * 2. config/config-&lt;env&gt;.properties (required)
+ * 3. Environment variables named after a known key, e.g. EXPLICIT_WAIT for explicit.wait
+ * 4. System properties (-Dkey=value)
+ *
+ * The keys every page or driver needs are parsed and validated up front into typed fields, so a
+ * bad value fails the run at startup instead of in the middle of a scenario. Reads never lock:
+ * the backing map is never modified after construction. Per-worker variations are separate
+ * snapshots derived with {@link #withOverrides(Map)}.
+ */
+public final class FrameworkConfig {
+
+    private static final String DEFAULTS_FILE = "config/defaults.properties";
+
+    private final String env;
+    private final Map<String, String> values;
+
+    private final String baseUrl;
+    private final String loginPath;
+    private final Duration implicitWait;
+    private final Duration explicitWait;
+    private final Duration pageLoadTimeout;
+    private final RunMode runMode;
+    private final List<URL> remoteUrls;
+
+    private FrameworkConfig(String env, Map<String, String> values) {
+        this.env = env;
+        this.values = Collections.unmodifiableMap(values);
+
+        List<String> problems = new ArrayList<>();
+        this.baseUrl = parse(problems, "base.url", FrameworkConfig::parseBaseUrl);
+        this.loginPath = parse(problems, "login.path", value -> value);
+        this.implicitWait = parse(problems, "implicit.wait", FrameworkConfig::parseSeconds);
+        this.explicitWait = parse(problems, "explicit.wait", FrameworkConfig::parseSeconds);
+        this.pageLoadTimeout = parse(problems, "page.load.timeout", FrameworkConfig::parseSeconds);
+        this.runMode = parse(problems, "run.mode", RunMode::parse);
+        this.remoteUrls = runMode == RunMode.REMOTE
+                ? parse(problems, "remote.url", FrameworkConfig::parseUrls)
+                : Collections.emptyList();
+
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration for env '" + env + "':\n  - "
+                    + String.join("\n  - ", problems));
+        }
+    }
+
+    /**
+     * Load and validate the snapshot for an environment.
+     */
+    public static FrameworkConfig load(String env) {
+        Map<String, String> values = new HashMap<>();
+        readClasspath(DEFAULTS_FILE, false, values);
+        readClasspath(String.format("config/config-%s.properties", env), true, values);
+
+        // Environment variables can only override keys we already know about.
+        Map<String, String> environment = System.getenv();
+        for (String key : new ArrayList<>(values.keySet())) {
+            String fromEnv = environment.get(key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+            if (fromEnv != null && !fromEnv.isEmpty()) {
+                values.put(key, fromEnv);
+            }
+        }
+
+        for (String key : System.getProperties().stringPropertyNames()) {
+            String sys = System.getProperty(key);
+            if (sys != null && !sys.isEmpty()) {
+                values.put(key, sys);
+            }
+        }
+        return new FrameworkConfig(env, values);
+    }
+
+    /**
+     * A new snapshot with some keys replaced, e.g. a per-worker browser or base URL.
+     * This snapshot is left untouched.
+     */
+    public FrameworkConfig withOverrides(Map<String, String> overrides) {
+        Map<String, String> merged = new HashMap<>(values);
+        merged.putAll(overrides);
+        return new FrameworkConfig(env, merged);
+    }
+
+    public String getEnv() {
+        return env;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getLoginPath() {
+        return loginPath;
+    }
+
+    public Duration getImplicitWait() {
+        return implicitWait;
+    }
+
+    public Duration getExplicitWait() {
+        return explicitWait;
+    }
+
+    public Duration getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public RunMode getRunMode() {
+        return runMode;
+    }
+
+    public List<URL> getRemoteUrls() {
+        return remoteUrls;
+    }
+
+    public String get(String key) {
+        String val = values.get(key);
+        if (val == null) {
+            throw new IllegalArgumentException("Missing config key: " + key);
+        }
+        return val;
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(get(key).trim());
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String val = values.get(key);
+        return val == null ? defaultValue : Integer.parseInt(val.trim());
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key).trim());
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String val = values.get(key);
+        return val == null ? defaultValue : Boolean.parseBoolean(val.trim());
+    }
+
+    private <T> T parse(List<String> problems, String key, Function<String, T> parser) {
+        String raw = values.get(key);
+        if (raw == null) {
+            problems.add("missing " + key);
+            return null;
+        }
+        try {
+            return parser.apply(raw.trim());
+        } catch (RuntimeException e) {
+            problems.add(key + "=" + raw + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String parseBaseUrl(String value) {
+        URI uri = URI.create(value);
+        if (!uri.isAbsolute() || uri.getHost() == null) {
+            throw new IllegalArgumentException("must be an absolute http(s) URL");
+        }
+        // Pages append paths that start with '/', so drop a trailing slash once here.
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static Duration parseSeconds(String value) {
+        long seconds = Long.parseLong(value);
+        if (seconds < 0) {
+            throw new IllegalArgumentException("must not be negative");
+        }
+        return Duration.ofSeconds(seconds);
+    }
+
+    private static List<URL> parseUrls(String commaSeparated) {
+        List<URL> urls = new ArrayList<>();
+        for (String part : commaSeparated.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                urls.add(new URL(trimmed));
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("invalid URL '" + trimmed + "'", e);
+            }
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("at least one URL is required");
+        }
+        return Collections.unmodifiableList(urls);
+    }
+
+    private static void readClasspath(String fileName, boolean required, Map<String, String> into) {
+        try (InputStream is = Thread.currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(fileName)) {
+            if (is == null) {
+                if (required) {
+                    throw new IllegalStateException("Config file not found on classpath: " + fileName);
+                }
+                return;
+            }
+            Properties props = new Properties();
+            props.load(is);
+            for (String key : props.stringPropertyNames()) {
+                into.put(key, props.getProperty(key));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load config file: " + fileName, e);
+        }
+    }
+}
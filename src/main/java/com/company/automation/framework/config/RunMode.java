@@ -0,0 +1,19 @@
+package com.company.automation.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Where browser sessions are started: on this machine or on a Selenium Grid.
+ */
+public enum RunMode {
+    LOCAL,
+    REMOTE;
+
+    static RunMode parse(String value) {
+        try {
+            return RunMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("run.mode must be 'local' or 'remote', got: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.company.automation.framework.core;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.core.WaitEngine.Readiness;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A sequence of form interactions executed browser-side in as few script calls as possible, instead of a
+ * wait + clear + sendKeys round-trip series per field. Created with {@link BasePage#batch()}:
+ *
+ * <pre>
+ * batch().type(FIRST_NAME, first).type(LAST_NAME, last).click(CONTINUE).execute();
+ * </pre>
+ *
+ * In the browser each action first checks its element (present, visible, enabled), then:
+ *  - type: sets the value through the native value setter and fires input and change events, which is what
+ *    framework-controlled inputs (React, Vue) listen to; no key events are generated
+ *  - select: picks the option by visible text and fires input and change events
+ *  - click: element.click()
+ * A click ends the script call, since it may navigate; the following actions run in the next one.
+ *
+ * When an element is not ready yet the script stops there, the batch waits for it with {@link WaitEngine} and
+ * resumes from that action, so nothing is done twice. A script call that fails in the driver (e.g. a script
+ * timeout) is replayed through WebDriver only when it holds no click; otherwise it fails, naming the click, since
+ * the click may already have happened.
+ *
+ * Actions that need real input events go through WebDriver instead: {@link #typeKeys} (key events via the
+ * Actions API, for key handlers or input masks) and {@link #clickTrusted} (a trusted click with retries, see
+ * {@link BasePage#click}). The same happens for every action on drivers or locators the script cannot handle,
+ * and for all actions with actions.batch.enabled=false.
+ *
+ * {@link #execute()} reports how each action ran; a failure names the action and its locator.
+ */
+public final class ActionBatch {
+
+    private static final String BATCH_SCRIPT =
+            "var actions = arguments[0];"
+            + "function find(using, value) {"
+            + "  if (using === 'css selector' || using === 'tag name') { return document.querySelector(value); }"
+            + "  if (using === 'id') { return document.getElementById(value); }"
+            + "  if (using === 'name') { return document.getElementsByName(value)[0]; }"
+            + "  if (using === 'class name') { return document.getElementsByClassName(value)[0]; }"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)"
+            + "      .singleNodeValue; }"
+            + "  return undefined; }"
+            + "function setValue(el, value) {"
+            + "  var proto = Object.getPrototypeOf(el), desc = Object.getOwnPropertyDescriptor(proto, 'value');"
+            + "  if (desc && desc.set) { desc.set.call(el, value); } else { el.value = value; }"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true})); }"
+            + "for (var i = 0; i < actions.length; i++) {"
+            + "  var a = actions[i], el = find(a.using, a.value);"
+            + "  if (el === undefined) { return {done: i, status: 'unsupported'}; }"
+            + "  if (!el) { return {done: i, status: 'missing'}; }"
+            + "  var rect = el.getBoundingClientRect(), style = window.getComputedStyle(el);"
+            + "  if (rect.width === 0 || rect.height === 0"
+            + "      || style.visibility === 'hidden' || style.display === 'none') {"
+            + "    return {done: i, status: 'hidden'}; }"
+            + "  if (el.disabled || (a.kind === 'type' && el.readOnly)) { return {done: i, status: 'disabled'}; }"
+            + "  try {"
+            + "    if (a.kind === 'type') { el.focus(); setValue(el, a.text); el.blur(); }"
+            + "    else if (a.kind === 'select') {"
+            + "      var option = null;"
+            + "      for (var j = 0; j < el.options.length; j++) {"
+            + "        if (el.options[j].text.trim() === a.text) { option = el.options[j]; break; } }"
+            + "      if (!option) { return {done: i, status: 'nooption'}; }"
+            + "      setValue(el, option.value); }"
+            + "    else { el.click(); }"
+            + "  } catch (e) { return {done: i, status: 'error', message: String(e)}; }"
+            + "}"
+            + "return {done: actions.length, status: 'ok'};";
+
+    private final BasePage page;
+    private final List<Action> actions = new ArrayList<>();
+
+    ActionBatch(BasePage page) {
+        this.page = page;
+    }
+
+    /**
+     * Set an input's value (script-side, input and change events, no key events).
+     */
+    public ActionBatch type(By locator, String text) {
+        actions.add(new Action(Kind.TYPE, locator, text, false));
+        return this;
+    }
+
+    /**
+     * Clear and type with real key events through the Actions API.
+     */
+    public ActionBatch typeKeys(By locator, String text) {
+        actions.add(new Action(Kind.TYPE, locator, text, true));
+        return this;
+    }
+
+    /**
+     * Choose a dropdown option by its visible text.
+     */
+    public ActionBatch select(By locator, String visibleText) {
+        actions.add(new Action(Kind.SELECT, locator, visibleText, false));
+        return this;
+    }
+
+    /**
+     * Click script-side (element.click()).
+     */
+    public ActionBatch click(By locator) {
+        actions.add(new Action(Kind.CLICK, locator, null, false));
+        return this;
+    }
+
+    /**
+     * Click through WebDriver: trusted events, stability check and retries as {@link BasePage#click}.
+     */
+    public ActionBatch clickTrusted(By locator) {
+        actions.add(new Action(Kind.CLICK, locator, null, true));
+        return this;
+    }
+
+    /**
+     * Run all actions in order. Returns one result per action; throws on the first action that fails,
+     * naming it, e.g. a TimeoutException "Batch action 2/4 (type 5 char(s) into By.id: last-name): ...".
+     */
+    public List<Result> execute() {
+        PageSnapshotCache.invalidateThread();
+        boolean scriptEnabled = ConfigurationManager.getBoolean("actions.batch.enabled", true)
+                && page.driver instanceof JavascriptExecutor;
+        List<Result> results = new ArrayList<>();
+        int next = 0;
+        int awaited = -1;
+        int fallback = -1;
+        while (next < actions.size()) {
+            Action action = actions.get(next);
+            if (!scriptEnabled || action.trusted || action.parameters() == null || fallback == next) {
+                runViaWebDriver(next);
+                results.add(new Result(next, action.toString(), Mode.WEBDRIVER));
+                next++;
+                continue;
+            }
+
+            int end = segmentEnd(next);
+            Map<?, ?> outcome = runScript(next, end);
+            int done = ((Number) outcome.get("done")).intValue();
+            for (int i = next; i < next + done; i++) {
+                results.add(new Result(i, actions.get(i).toString(), Mode.SCRIPT));
+            }
+            next += done;
+            String status = String.valueOf(outcome.get("status"));
+            if ("ok".equals(status)) {
+                continue;
+            }
+
+            switch (status) {
+                case "missing":
+                case "hidden":
+                case "disabled":
+                    if (awaited == next) {
+                        // Ready for WaitEngine but still refused by the script: let WebDriver do this one
+                        fallback = next;
+                    } else {
+                        awaitReady(next);
+                        awaited = next;
+                    }
+                    break;
+                case "nooption":
+                    throw new NoSuchElementException(describe(next) + ": no option with visible text '"
+                            + actions.get(next).text + "'");
+                default:
+                    // unsupported locator or a script error (e.g. a page script throwing in an event handler)
+                    fallback = next;
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Scriptable actions from {@code start} up to and including the first click, stopping before any
+     * action that must go through WebDriver.
+     */
+    private int segmentEnd(int start) {
+        int end = start;
+        while (end < actions.size()) {
+            Action action = actions.get(end);
+            if (action.trusted || action.parameters() == null) {
+                break;
+            }
+            end++;
+            if (action.kind == Kind.CLICK) {
+                break;
+            }
+        }
+        return end;
+    }
+
+    private Map<?, ?> runScript(int start, int end) {
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (Action action : actions.subList(start, end)) {
+            By.Remotable.Parameters parameters = action.parameters();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("kind", action.kind.name().toLowerCase(Locale.ROOT));
+            item.put("using", parameters.using());
+            item.put("value", parameters.value());
+            if (action.text != null) {
+                // null map values are not valid script arguments on every driver
+                item.put("text", action.text);
+            }
+            payload.add(item);
+        }
+        try {
+            return (Map<?, ?>) ((JavascriptExecutor) page.driver).executeScript(BATCH_SCRIPT, payload);
+        } catch (UnsupportedCommandException | UnsupportedOperationException e) {
+            // The driver cannot run scripts (HtmlUnit without JavaScript): nothing ran, WebDriver takes over
+            return Map.of("done", 0, "status", "error");
+        } catch (WebDriverException e) {
+            if (actions.get(end - 1).kind == Kind.CLICK) {
+                // The script was sent and may have clicked (and navigated) already: replaying could submit twice
+                throw new WebDriverException(describe(end - 1) + ": script call for action(s) " + (start + 1) + "-"
+                        + end + " failed after it was sent, not replayed: " + e.getRawMessage(), e);
+            }
+            // Only values were set so far, setting them again through WebDriver is harmless
+            return Map.of("done", 0, "status", "error");
+        }
+    }
+
+    private void awaitReady(int index) {
+        Action action = actions.get(index);
+        try {
+            page.waits.until(action.locator, Readiness.VISIBLE, Readiness.ENABLED);
+        } catch (TimeoutException e) {
+            throw new TimeoutException(describe(index) + ": element not ready", e);
+        }
+    }
+
+    private void runViaWebDriver(int index) {
+        Action action = actions.get(index);
+        try {
+            switch (action.kind) {
+                case TYPE:
+                    if (action.trusted) {
+                        WebElement element = page.waits.until(action.locator, Readiness.VISIBLE, Readiness.ENABLED);
+                        element.clear();
+                        new Actions(page.driver).click(element).sendKeys(action.text).perform();
+                    } else {
+                        page.type(action.locator, action.text);
+                    }
+                    break;
+                case SELECT:
+                    new Select(page.waitVisible(action.locator)).selectByVisibleText(action.text);
+                    break;
+                case CLICK:
+                default:
+                    page.click(action.locator);
+            }
+        } catch (TimeoutException e) {
+            throw new TimeoutException(describe(index) + ": " + e.getRawMessage(), e);
+        } catch (NoSuchElementException e) {
+            throw new NoSuchElementException(describe(index) + ": " + e.getRawMessage(), e);
+        }
+    }
+
+    private String describe(int index) {
+        return "Batch action " + (index + 1) + "/" + actions.size() + " (" + actions.get(index) + ")";
+    }
+
+    /**
+     * How an action was carried out.
+     */
+    public enum Mode {
+        /** Inside a batched script call. */
+        SCRIPT,
+        /** Through WebDriver commands (trusted actions and fallbacks). */
+        WEBDRIVER
+    }
+
+    /**
+     * Outcome of one action: its position in the batch, a description and how it ran.
+     */
+    public static final class Result {
+
+        private final int index;
+        private final String action;
+        private final Mode mode;
+
+        Result(int index, String action, Mode mode) {
+            this.index = index;
+            this.action = action;
+            this.mode = mode;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        @Override
+        public String toString() {
+            return (index + 1) + ": " + action + " [" + mode + "]";
+        }
+    }
+
+    private enum Kind {
+        TYPE, SELECT, CLICK
+    }
+
+    private static final class Action {
+
+        private final Kind kind;
+        private final By locator;
+        private final String text;
+        private final boolean trusted;
+
+        Action(Kind kind, By locator, String text, boolean trusted) {
+            this.kind = kind;
+            this.locator = locator;
+            this.text = text;
+            this.trusted = trusted;
+        }
+
+        By.Remotable.Parameters parameters() {
+            return locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case TYPE:
+                    // Values may be passwords: length only
+                    return "type " + (text == null ? 0 : text.length()) + " char(s) into " + locator;
+                case SELECT:
+                    return "select '" + text + "' in " + locator;
+                case CLICK:
+                default:
+                    return "click " + locator;
+            }
+        }
+    }
+}
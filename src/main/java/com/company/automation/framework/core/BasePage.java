@@ -1,57 +1,225 @@
 package com.company.automation.framework.core;
 
 import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.core.WaitEngine.Readiness;
+import com.company.automation.framework.driver.DriverFactory;
 import com.company.automation.framework.driver.DriverManager;
+import com.company.automation.framework.driver.EnvironmentCircuitBreaker;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Common WebDriver + WebDriverWait functionality for all page objects.
  * This is your abstraction layer:
      * Holds driver
      * Holds WebDriverWait
-     * Provides reusable actions (click, type, waitVisible)
+     * Provides reusable actions (click, type, waitVisible, extractRows, readRows)
  * Defines open(relativeUrl) so pages don’t hardcode full URLs
+ *
+ * Waits go through {@link WaitEngine}: adaptive polling, one browser round-trip per poll,
+ * and per-locator wait-time histograms.
+ *
+ * click, type and getText retry transient failures (stale element, click intercepted) under a
+ * {@link RetryPolicy}, re-resolving the locator on every attempt.
  */
 public abstract class BasePage {
 
+    private static final String EXTRACT_ROWS_SCRIPT =
+            "var using = arguments[0], value = arguments[1], fields = arguments[2], rows = [];"
+            + "if (using === 'xpath') {"
+            + "  var snap = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "  for (var i = 0; i < snap.snapshotLength; i++) { rows.push(snap.snapshotItem(i)); }"
+            + "} else { rows = Array.prototype.slice.call(document.querySelectorAll(value)); }"
+            + "return rows.map(function (row) {"
+            + "  var out = {}, ids = [];"
+            + "  Object.keys(fields).forEach(function (name) {"
+            + "    var el = row.querySelector(fields[name]);"
+            + "    out[name] = el ? (el.innerText || el.textContent || '').trim() : null; });"
+            + "  if (row.hasAttribute('data-test')) { ids.push(row.getAttribute('data-test')); }"
+            + "  row.querySelectorAll('[data-test]').forEach(function (el) { ids.push(el.getAttribute('data-test')); });"
+            + "  return {fields: out, dataTest: ids}; });";
+
+    // Same extraction, plus the page's DOM-mutation token for the snapshot cache
+    private static final String SNAPSHOT_ROWS_SCRIPT = PageSnapshotCache.OBSERVER_SCRIPT
+            + "return {token: token, rows: (function () {" + EXTRACT_ROWS_SCRIPT + "}).apply(null, arguments)};";
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected WaitEngine waits;
+    private PageSnapshotCache snapshots;
 
     protected BasePage() {
         this.driver = DriverManager.getDriver();
-        int timeout = ConfigurationManager.getInt("explicit.wait");
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
+        this.wait = new WebDriverWait(driver, ConfigurationManager.config().getExplicitWait());
+        this.waits = new WaitEngine(driver, ConfigurationManager.config().getExplicitWait());
     }
 
     protected WebElement waitVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waits.until(locator, Readiness.VISIBLE);
+    }
+
+    /**
+     * Wait for any ExpectedCondition with adaptive polling (instead of WebDriverWait's fixed interval).
+     */
+    protected <T> T waitUntil(ExpectedCondition<T> condition) {
+        return waits.until(condition, String.valueOf(condition));
     }
 
     protected void click(By locator) {
-        WebElement element = wait.until(
-                ExpectedConditions.elementToBeClickable(locator)
-        );
-        element.click();
+        PageSnapshotCache.invalidateThread();
+        RetryPolicy.of(RetryPolicy.Action.CLICK).execute(locator, () -> {
+            // Visible + enabled + not moving, checked together in one script call per poll
+            WebElement element = waits.until(locator, Readiness.VISIBLE, Readiness.ENABLED, Readiness.STABLE);
+            element.click();
+            return null;
+        });
     }
 
     protected void type(By locator, String text) {
-        WebElement element = waitVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        PageSnapshotCache.invalidateThread();
+        RetryPolicy.of(RetryPolicy.Action.TYPE).execute(locator, () -> {
+            // clear() first on every attempt, so a retry never appends to half-typed text
+            WebElement element = waits.until(locator, Readiness.VISIBLE, Readiness.ENABLED);
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
 
     protected String getText(By locator) {
-        return waitVisible(locator).getText();
+        return RetryPolicy.of(RetryPolicy.Action.READ).execute(locator, () -> waitVisible(locator).getText());
+    }
+
+    /**
+     * Start a batch of form actions executed browser-side in as few round-trips as possible,
+     * e.g. {@code batch().type(USER, name).type(PASSWORD, secret).click(LOGIN).execute()}.
+     */
+    protected ActionBatch batch() {
+        return new ActionBatch(this);
+    }
+
+    /**
+     * Wait until the browser is on a URL containing {@code path} and its DOM is ready, driven by
+     * navigation events where the browser provides them (see {@link PageReadiness}).
+     */
+    protected void awaitPage(String path) {
+        PageReadiness.awaitUrl(driver, url -> url.contains(path), PageReadiness.Stage.INTERACTIVE,
+                ConfigurationManager.config().getExplicitWait(), path);
+    }
+
+    /**
+     * Click something that navigates and wait for the target page, e.g. a link to "/cart.html".
+     */
+    protected void clickAndAwaitPage(By locator, String path) {
+        click(locator);
+        awaitPage(path);
+    }
+
+    /**
+     * Read every row matching {@code container} in a single executeScript call.
+     *
+     * {@code fields} maps a field name to a CSS selector relative to the row (e.g. "name" -> ".inventory_item_name");
+     * each row carries the trimmed visible text of those fields plus all data-test ids inside it. Replaces
+     * findElements + per-row findElement/getText loops, which cost two round-trips per row.
+     * The container may be a CSS or XPath locator. Does not wait: rows present right now are returned.
+     */
+    protected List<ElementRow> extractRows(By container, Map<String, String> fields) {
+        return toRows(runExtraction(EXTRACT_ROWS_SCRIPT, container, fields), fields);
+    }
+
+    /**
+     * Opt this page into the snapshot cache: {@link #readRows} then serves repeated reads from memory
+     * until the page changes. Switched off globally with page.cache.enabled=false, and always off on
+     * lightweight drivers, whose engine never reports DOM mutations to the cache.
+     */
+    protected void enableSnapshotCache() {
+        if (ConfigurationManager.getBoolean("page.cache.enabled", true) && !DriverFactory.isLightweight(driver)) {
+            snapshots = new PageSnapshotCache(ConfigurationManager.getBoolean("page.cache.verify", true));
+        }
+    }
+
+    /**
+     * Like {@link #extractRows}, but served from the snapshot cache while it is still valid.
+     */
+    protected List<ElementRow> readRows(By container, Map<String, String> fields) {
+        List<ElementRow> cached = cachedRows(container, fields);
+        if (cached != null) {
+            return cached;
+        }
+        if (snapshots == null) {
+            return extractRows(container, fields);
+        }
+        Map<?, ?> result = (Map<?, ?>) runExtraction(SNAPSHOT_ROWS_SCRIPT, container, fields);
+        List<ElementRow> rows = toRows(result.get("rows"), fields);
+        Object token = result.get("token");
+        snapshots.put(snapshotKey(container, fields), rows, token == null ? null : token.toString());
+        return rows;
+    }
+
+    /**
+     * Rows from a still-valid snapshot, or null. Lets pages skip their "am I on the right page" wait
+     * when nothing has changed since the last read.
+     */
+    protected List<ElementRow> cachedRows(By container, Map<String, String> fields) {
+        return snapshots == null ? null : snapshots.get(snapshotKey(container, fields), (JavascriptExecutor) driver);
+    }
+
+    private Object runExtraction(String script, By container, Map<String, String> fields) {
+        By.Remotable.Parameters parameters = container instanceof By.Remotable
+                ? ((By.Remotable) container).getRemoteParameters()
+                : null;
+        if (parameters == null
+                || !("css selector".equals(parameters.using()) || "xpath".equals(parameters.using()))) {
+            throw new IllegalArgumentException("extractRows needs a CSS or XPath container locator, got: " + container);
+        }
+        return ((JavascriptExecutor) driver).executeScript(script, parameters.using(), parameters.value(), fields);
+    }
+
+    private static List<ElementRow> toRows(Object result, Map<String, String> fields) {
+        List<ElementRow> rows = new ArrayList<>();
+        if (!(result instanceof List)) {
+            return rows;
+        }
+        for (Object item : (List<?>) result) {
+            Map<?, ?> raw = (Map<?, ?>) item;
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String field : fields.keySet()) {
+                Object value = ((Map<?, ?>) raw.get("fields")).get(field);
+                values.put(field, value == null ? null : value.toString());
+            }
+            List<String> ids = new ArrayList<>();
+            for (Object id : (List<?>) raw.get("dataTest")) {
+                ids.add(String.valueOf(id));
+            }
+            rows.add(new ElementRow(values, ids));
+        }
+        return rows;
+    }
+
+    private static String snapshotKey(By container, Map<String, String> fields) {
+        return container + " " + fields;
     }
 
     public void open(String relativePath) {
-        String baseUrl = ConfigurationManager.get("base.url");
-        driver.get(baseUrl + relativePath);
+        PageSnapshotCache.invalidateThread();
+        String url = ConfigurationManager.config().getBaseUrl() + relativePath;
+        try {
+            driver.get(url);
+        } catch (WebDriverException e) {
+            if (EnvironmentCircuitBreaker.isEnvironmental(e)) {
+                EnvironmentCircuitBreaker.shared().recordFailure("navigation to " + url, e);
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.company.automation.framework.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row (e.g. an inventory card or a cart item) read by {@link BasePage#extractRows}.
+ *
+ * Holds the trimmed visible text of each requested field plus every data-test id found inside the row,
+ * so callers can match on name, read a price and find the row's buttons without another round-trip.
+ */
+public final class ElementRow {
+
+    private final Map<String, String> fields;
+    private final List<String> dataTestIds;
+
+    ElementRow(Map<String, String> fields, List<String> dataTestIds) {
+        this.fields = Collections.unmodifiableMap(fields);
+        this.dataTestIds = Collections.unmodifiableList(dataTestIds);
+    }
+
+    /**
+     * Visible text of a field, or null when the row has no element for that field.
+     */
+    public String get(String field) {
+        return fields.get(field);
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    /**
+     * data-test attribute values of the row and all of its descendants, in document order.
+     */
+    public List<String> getDataTestIds() {
+        return dataTestIds;
+    }
+
+    @Override
+    public String toString() {
+        return fields + " " + dataTestIds;
+    }
+}
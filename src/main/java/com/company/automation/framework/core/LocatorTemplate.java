@@ -0,0 +1,63 @@
+package com.company.automation.framework.core;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A parameterised locator from {@link Locators}: the pattern is split around its "{}" placeholder once and
+ * validated with a sample value. Per value only the (escaping) argument function runs, no parsing, and the
+ * locator is built once per distinct value and reused.
+ */
+public final class LocatorTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+    // Plenty for a product catalogue; beyond this, locators are still built, just not kept.
+    private static final int MAX_CACHED = 1024;
+
+    private final String pattern;
+    private final String prefix;
+    private final String suffix;
+    private final UnaryOperator<String> argument;
+    private final Function<String, By> factory;
+    private final Map<String, By> byValue = new ConcurrentHashMap<>();
+
+    LocatorTemplate(String pattern, UnaryOperator<String> argument, Function<String, By> validator,
+                    Function<String, By> factory) {
+        int at = pattern.indexOf(PLACEHOLDER);
+        if (at < 0 || pattern.indexOf(PLACEHOLDER, at + 1) >= 0) {
+            throw new IllegalArgumentException("Locator template needs exactly one {} placeholder: " + pattern);
+        }
+        this.pattern = pattern;
+        this.prefix = pattern.substring(0, at);
+        this.suffix = pattern.substring(at + PLACEHOLDER.length());
+        this.argument = argument;
+        this.factory = factory;
+        // Check the template's syntax once at registration, like any other locator.
+        validator.apply(prefix + argument.apply("sample") + suffix);
+    }
+
+    public By with(String value) {
+        By cached = byValue.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        By by = build(value);
+        if (byValue.size() < MAX_CACHED) {
+            byValue.putIfAbsent(value, by);
+        }
+        return by;
+    }
+
+    private By build(String value) {
+        return factory.apply(prefix + argument.apply(value) + suffix);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,195 @@
+package com.company.automation.framework.core;
+
+import org.htmlunit.cssparser.parser.CSSErrorHandler;
+import org.htmlunit.cssparser.parser.CSSException;
+import org.htmlunit.cssparser.parser.CSSOMParser;
+import org.htmlunit.cssparser.parser.CSSParseException;
+import org.openqa.selenium.By;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared registry of page-object locators.
+ *
+ * Every locator is created once per JVM and interned: pages keep them in static final fields, so the
+ * same immutable By instance is used by every page object on every thread. Selector syntax is checked
+ * when a locator is registered (CSS with a CSS3 selector parser, XPath with javax.xml.xpath), i.e. when
+ * the page class is initialised; {@link #preload(Class[])} triggers that for all pages before the first
+ * browser starts, so a typo fails the run at startup instead of as a timeout in the middle of a scenario.
+ *
+ * Simple XPath expressions that have an exact CSS equivalent ("//tag", "//tag[@attr='v']") are registered
+ * as CSS selectors, which browsers evaluate natively and faster.
+ */
+public final class Locators {
+
+    private static final Map<String, By> REGISTRY = new ConcurrentHashMap<>();
+
+    // //tag or //* with at most one [@attr='value'] predicate: same match set as tag[attr='value']
+    private static final Pattern SIMPLE_XPATH =
+            Pattern.compile("^//([a-zA-Z][\\w-]*|\\*)(?:\\[@([a-zA-Z_][\\w-]*)=(?:'([^']*)'|\"([^\"]*)\")\\])?$");
+
+    private Locators() {
+        // utility class
+    }
+
+    public static By css(String selector) {
+        return REGISTRY.computeIfAbsent("css:" + selector, key -> {
+            checkCss(selector);
+            return By.cssSelector(selector);
+        });
+    }
+
+    public static By id(String id) {
+        return REGISTRY.computeIfAbsent("id:" + id, key -> {
+            if (id.isBlank()) {
+                throw new IllegalArgumentException("Empty id locator");
+            }
+            return By.id(id);
+        });
+    }
+
+    /**
+     * An XPath locator, or the equivalent CSS selector when there is one.
+     */
+    public static By xpath(String expression) {
+        return REGISTRY.computeIfAbsent("xpath:" + expression, key -> {
+            String css = cssEquivalent(expression);
+            if (css != null) {
+                return css(css);
+            }
+            checkXPath(expression);
+            return By.xpath(expression);
+        });
+    }
+
+    /**
+     * A CSS locator with one "{}" placeholder, filled with {@code argument.apply(value)} per lookup,
+     * e.g. cssTemplate("button[data-test='add-to-cart-{}']", Locators::slug).
+     */
+    public static LocatorTemplate cssTemplate(String pattern, UnaryOperator<String> argument) {
+        return new LocatorTemplate(pattern, argument, Locators::checkedCss, By::cssSelector);
+    }
+
+    /**
+     * An XPath locator with one "{}" placeholder; use {@link #xpathLiteral} for values inside predicates.
+     */
+    public static LocatorTemplate xpathTemplate(String pattern, UnaryOperator<String> argument) {
+        return new LocatorTemplate(pattern, argument, Locators::checkedXPath, By::xpath);
+    }
+
+    /**
+     * Force static initialisation (and with it locator validation) of the given page classes.
+     * All invalid locators are reported together.
+     */
+    public static void preload(Class<?>... pageClasses) {
+        List<String> problems = new ArrayList<>();
+        for (Class<?> pageClass : pageClasses) {
+            try {
+                Class.forName(pageClass.getName(), true, pageClass.getClassLoader());
+            } catch (ClassNotFoundException | ExceptionInInitializerError e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                problems.add(pageClass.getSimpleName() + ": " + cause.getMessage());
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid locators:\n  - " + String.join("\n  - ", problems));
+        }
+    }
+
+    /**
+     * Swag Labs slug of a product name: "Sauce Labs Bike Light" -> "sauce-labs-bike-light".
+     */
+    public static String slug(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replace(" ", "-");
+    }
+
+    /**
+     * Escape a value for use inside a quoted CSS attribute selector.
+     */
+    public static String cssString(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    /**
+     * A quoted XPath 1.0 string literal for the value as given, using concat() when it contains both quote kinds.
+     */
+    public static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    static String cssEquivalent(String xpath) {
+        Matcher m = SIMPLE_XPATH.matcher(xpath.trim());
+        if (!m.matches()) {
+            return null;
+        }
+        String tag = "*".equals(m.group(1)) ? "" : m.group(1);
+        if (m.group(2) == null) {
+            return tag.isEmpty() ? "*" : tag;
+        }
+        String value = m.group(3) != null ? m.group(3) : m.group(4);
+        return tag + "[" + m.group(2) + "='" + cssString(value) + "']";
+    }
+
+    private static By checkedCss(String selector) {
+        checkCss(selector);
+        return By.cssSelector(selector);
+    }
+
+    private static By checkedXPath(String expression) {
+        checkXPath(expression);
+        return By.xpath(expression);
+    }
+
+    private static void checkCss(String selector) {
+        if (selector.isBlank()) {
+            throw new IllegalArgumentException("Empty CSS selector");
+        }
+        CSSOMParser parser = new CSSOMParser();
+        parser.setErrorHandler(new CSSErrorHandler() {
+            @Override
+            public void warning(CSSParseException exception) {
+                // not a syntax error
+            }
+
+            @Override
+            public void error(CSSParseException exception) {
+                throw exception;
+            }
+
+            @Override
+            public void fatalError(CSSParseException exception) {
+                throw exception;
+            }
+        });
+        try {
+            parser.parseSelectors(selector);
+        } catch (CSSException | IOException e) {
+            throw new IllegalArgumentException("Invalid CSS selector '" + selector + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static void checkXPath(String expression) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(expression);
+        } catch (XPathExpressionException e) {
+            String reason = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            throw new IllegalArgumentException("Invalid XPath '" + expression + "': " + reason, e);
+        }
+    }
+}
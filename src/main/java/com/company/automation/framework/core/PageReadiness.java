@@ -0,0 +1,208 @@
+package com.company.automation.framework.core;
+
+import com.company.automation.framework.driver.DriverFactory;
+import com.company.automation.framework.metrics.MetricsRegistry;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Navigation waits driven by browser events instead of polling page content.
+ *
+ * On Chromium sessions a DevTools listener follows the main frame: Page.frameNavigated (new document),
+ * Page.navigatedWithinDocument (history.pushState, as the SPA router does) and Page.lifecycleEvent
+ * (DOMContentLoaded, load, networkAlmostIdle). A waiting thread sleeps on the tracker's monitor and is
+ * woken by the event itself, so a transition is detected the moment the browser reports it.
+ *
+ * Other browsers (and sessions whose DevTools connection fails) fall back to polling document.readyState
+ * and the URL with the adaptive {@link WaitEngine}. Every navigation wait is recorded in the "ui_wait"
+ * histogram as "navigation:&lt;label&gt;".
+ */
+public final class PageReadiness {
+
+    private static final Logger log = LoggerFactory.getLogger(PageReadiness.class);
+
+    private static final Map<WebDriver, NavigationTracker> TRACKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PageReadiness() {
+        // utility class
+    }
+
+    /**
+     * How far a page has to be loaded before a navigation wait returns.
+     */
+    public enum Stage {
+        /** DOM parsed (DOMContentLoaded / readyState interactive); enough for element waits to take over. */
+        INTERACTIVE,
+        /** load event fired (readyState complete). */
+        LOADED,
+        /** At most two requests in flight for 500ms (networkAlmostIdle; falls back to LOADED). */
+        NETWORK_IDLE
+    }
+
+    /**
+     * Start following lifecycle events of a new session. Called by DriverFactory; a no-op for
+     * non-Chromium drivers, which use the polling fallback.
+     */
+    public static void attach(WebDriver driver) {
+        WebDriver raw = DriverFactory.unwrap(driver);
+        if (!(raw instanceof ChromiumDriver) || TRACKERS.containsKey(raw)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((ChromiumDriver) raw).getDevTools();
+            devTools.createSessionIfThereIsNotOne(raw.getWindowHandle());
+            NavigationTracker tracker = new NavigationTracker();
+
+            devTools.addListener(mapEvent("Page.frameNavigated"), event -> {
+                Map<?, ?> frame = (Map<?, ?>) event.get("frame");
+                if (frame != null && frame.get("parentId") == null) {
+                    tracker.onDocument(String.valueOf(frame.get("id")), String.valueOf(frame.get("url")));
+                }
+            });
+            devTools.addListener(mapEvent("Page.navigatedWithinDocument"), event ->
+                    tracker.onSameDocument(String.valueOf(event.get("frameId")), String.valueOf(event.get("url"))));
+            devTools.addListener(mapEvent("Page.lifecycleEvent"), event ->
+                    tracker.onLifecycle(String.valueOf(event.get("frameId")), String.valueOf(event.get("name"))));
+
+            devTools.send(new Command<>("Page.enable", Collections.emptyMap()));
+            devTools.send(new Command<>("Page.setLifecycleEventsEnabled", Map.of("enabled", true)));
+            Map<String, Object> tree = devTools.send(new Command<>("Page.getFrameTree", Collections.emptyMap(),
+                    input -> input.<Map<String, Object>>read(Json.MAP_TYPE)));
+            Map<?, ?> frame = (Map<?, ?>) ((Map<?, ?>) tree.get("frameTree")).get("frame");
+            tracker.onAttached(String.valueOf(frame.get("id")), String.valueOf(frame.get("url")));
+
+            TRACKERS.put(raw, tracker);
+        } catch (WebDriverException | ClassCastException | NullPointerException e) {
+            log.info("[PageReadiness] No lifecycle events for this session, polling instead: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait until the current URL matches and the page has reached {@code stage}. Returns at once when
+     * that is already the case.
+     */
+    public static void awaitUrl(WebDriver driver, Predicate<String> url, Stage stage, Duration timeout, String label) {
+        long start = System.nanoTime();
+        try {
+            NavigationTracker tracker = TRACKERS.get(DriverFactory.unwrap(driver));
+            if (tracker != null) {
+                tracker.await(url, stage, timeout, label);
+            } else {
+                poll(driver, url, stage, timeout, label);
+            }
+        } finally {
+            MetricsRegistry.histogram(WaitEngine.WAIT_METRIC, "locator", "navigation:" + label)
+                    .recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private static void poll(WebDriver driver, Predicate<String> url, Stage stage, Duration timeout, String label) {
+        new WaitEngine(driver, timeout).until(d -> {
+            if (!url.test(d.getCurrentUrl())) {
+                return false;
+            }
+            Object state = ((JavascriptExecutor) d).executeScript("return document.readyState");
+            return stage == Stage.INTERACTIVE ? !"loading".equals(state) : "complete".equals(state);
+        }, "navigation:" + label);
+    }
+
+    private static Event<Map<String, Object>> mapEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    /**
+     * Main-frame state of one session, updated from the DevTools thread.
+     */
+    private static final class NavigationTracker {
+
+        private String mainFrameId;
+        private String url = "";
+        private Stage reached;
+
+        synchronized void onAttached(String frameId, String currentUrl) {
+            if (mainFrameId == null) {
+                mainFrameId = frameId;
+                url = currentUrl;
+                // Already loaded when the session was set up
+                reached = Stage.NETWORK_IDLE;
+            }
+            notifyAll();
+        }
+
+        synchronized void onDocument(String frameId, String newUrl) {
+            mainFrameId = frameId;
+            url = newUrl;
+            // Committed, but DOMContentLoaded has not fired yet
+            reached = null;
+            notifyAll();
+        }
+
+        synchronized void onSameDocument(String frameId, String newUrl) {
+            if (frameId.equals(mainFrameId)) {
+                url = newUrl;
+                // Same document: already interactive, no new load event will come
+                reached = Stage.NETWORK_IDLE;
+                notifyAll();
+            }
+        }
+
+        synchronized void onLifecycle(String frameId, String name) {
+            if (!frameId.equals(mainFrameId)) {
+                return;
+            }
+            switch (name) {
+                case "init":
+                    reached = null;
+                    break;
+                case "DOMContentLoaded":
+                    reached = max(reached, Stage.INTERACTIVE);
+                    break;
+                case "load":
+                    reached = max(reached, Stage.LOADED);
+                    break;
+                case "networkAlmostIdle":
+                    reached = Stage.NETWORK_IDLE;
+                    break;
+                default:
+                    return;
+            }
+            notifyAll();
+        }
+
+        synchronized void await(Predicate<String> expectedUrl, Stage stage, Duration timeout, String label) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (!(expectedUrl.test(url) && reached != null && reached.compareTo(stage) >= 0)) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Navigation to " + label + " did not reach " + stage + " within "
+                            + timeout.getSeconds() + "s (url: " + url + ", stage: " + reached + ")");
+                }
+                try {
+                    wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TimeoutException("Interrupted while waiting for navigation to " + label, e);
+                }
+            }
+        }
+
+        private static Stage max(Stage current, Stage candidate) {
+            return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+        }
+    }
+}
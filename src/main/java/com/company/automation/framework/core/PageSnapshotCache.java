@@ -0,0 +1,93 @@
+package com.company.automation.framework.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-page cache of extracted rows, used by pages that opt in via {@link BasePage#enableSnapshotCache()}.
+ *
+ * A snapshot stays valid until either
+ * - any click/type/open goes through a BasePage on the same thread (tracked by a thread-wide action epoch), or
+ * - the DOM changes: the capture script installs a MutationObserver that bumps a page-side generation counter,
+ *   and a cached read first compares that counter (one tiny script call). A navigation drops the observer
+ *   with the old window, which also invalidates the snapshot.
+ *
+ * With page.cache.verify=false the DOM check is skipped and cached reads cost no round-trip at all; only
+ * BasePage actions invalidate then. Page objects live on one scenario thread, so no locking is needed.
+ */
+final class PageSnapshotCache {
+
+    /** Installs the observer once per window and leaves the current token in {@code token}. */
+    static final String OBSERVER_SCRIPT =
+            "if (!window.__uiSnapshot) {"
+            + "  var state = {id: Math.random().toString(36).slice(2), gen: 0};"
+            + "  new MutationObserver(function () { state.gen++; }).observe(document.documentElement,"
+            + "      {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "  window.__uiSnapshot = state; }"
+            + "var token = window.__uiSnapshot.id + ':' + window.__uiSnapshot.gen;";
+
+    private static final String TOKEN_SCRIPT =
+            "var s = window.__uiSnapshot; return s ? s.id + ':' + s.gen : null;";
+
+    private static final ThreadLocal<long[]> ACTION_EPOCH = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final boolean verify;
+
+    PageSnapshotCache(boolean verify) {
+        this.verify = verify;
+    }
+
+    /**
+     * Called for every action that may change the page; invalidates all snapshots taken on this thread.
+     */
+    static void invalidateThread() {
+        ACTION_EPOCH.get()[0]++;
+    }
+
+    /**
+     * Cached rows for the key, or null when there are none or they may be outdated.
+     */
+    List<ElementRow> get(String key, JavascriptExecutor js) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.epoch != ACTION_EPOCH.get()[0] || (verify && !entry.token.equals(currentToken(js)))) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.rows;
+    }
+
+    void put(String key, List<ElementRow> rows, String token) {
+        if (token != null) {
+            entries.put(key, new Entry(rows, token, ACTION_EPOCH.get()[0]));
+        }
+    }
+
+    private static String currentToken(JavascriptExecutor js) {
+        try {
+            Object token = js.executeScript(TOKEN_SCRIPT);
+            return token == null ? null : token.toString();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final List<ElementRow> rows;
+        private final String token;
+        private final long epoch;
+
+        private Entry(List<ElementRow> rows, String token, long epoch) {
+            this.rows = rows;
+            this.token = token;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.automation.framework.core;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.metrics.MetricsRegistry;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries of element actions that failed for a transient reason, so a re-render or a fading overlay costs
+ * a few milliseconds instead of the whole scenario.
+ *
+ * Transient means: the element went stale between lookup and use (StaleElementReferenceException), or it
+ * was covered or not interactable for a moment (ElementNotInteractableException, including
+ * ElementClickInterceptedException). Each attempt resolves the locator again, so a stale reference is never
+ * reused. Timeouts are not retried: the wait already spent its full budget.
+ *
+ * Between attempts the policy sleeps with full jitter (a random time up to an exponentially growing cap), so
+ * parallel workers hitting the same slow page do not retry in lockstep. Every action type has its own
+ * budget of attempts and of retry time, counted from the first failure (config keys, all optional):
+ *  - retry.&lt;action&gt;.attempts: total attempts including the first (click 3, type 3, read 3); 1 disables
+ *  - retry.&lt;action&gt;.budget.millis: no new attempt once this much time has passed since the first failure
+ *    (click 2000, type 2000, read 1000)
+ *  - retry.backoff.initial.millis (25) / retry.backoff.max.millis (400): jitter cap of the first retry / any retry
+ *
+ * Retries are counted in "ui_action_retries" (action, locator, cause) and actions that still failed after
+ * retrying in "ui_action_retries_exhausted" (action, locator).
+ */
+public final class RetryPolicy {
+
+    public static final String RETRY_METRIC = "ui_action_retries";
+    public static final String EXHAUSTED_METRIC = "ui_action_retries_exhausted";
+
+    private static final Logger log = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private static final Map<Action, RetryPolicy> POLICIES = new EnumMap<>(Action.class);
+
+    private final Action action;
+    private final int attempts;
+    private final long budgetNanos;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    RetryPolicy(Action action, int attempts, long budgetMillis, long initialBackoffMillis,
+                long maxBackoffMillis) {
+        this.action = action;
+        this.attempts = Math.max(1, attempts);
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+    }
+
+    /**
+     * The configured policy for an action type, read once per JVM.
+     */
+    public static RetryPolicy of(Action action) {
+        synchronized (POLICIES) {
+            return POLICIES.computeIfAbsent(action, RetryPolicy::fromConfig);
+        }
+    }
+
+    private static RetryPolicy fromConfig(Action action) {
+        String prefix = "retry." + action.key() + ".";
+        return new RetryPolicy(action,
+                ConfigurationManager.getInt(prefix + "attempts", 3),
+                ConfigurationManager.getInt(prefix + "budget.millis", action == Action.READ ? 1000 : 2000),
+                ConfigurationManager.getInt("retry.backoff.initial.millis", 25),
+                ConfigurationManager.getInt("retry.backoff.max.millis", 400));
+    }
+
+    /**
+     * Run {@code attempt} until it succeeds, fails for a non-transient reason, or the budget is spent; in the
+     * last two cases the most recent exception is rethrown. {@code attempt} must resolve its element itself.
+     */
+    public <T> T execute(Object locator, Supplier<T> attempt) {
+        long firstFailure = 0;
+        WebDriverException last;
+        for (int tried = 1; ; tried++) {
+            try {
+                return attempt.get();
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                last = e;
+            }
+
+            long now = System.nanoTime();
+            if (tried == 1) {
+                firstFailure = now;
+            }
+            long backoff = backoffMillis(tried);
+            if (tried >= attempts || now - firstFailure + backoff * 1_000_000 > budgetNanos) {
+                if (attempts > 1) {
+                    MetricsRegistry.counter(EXHAUSTED_METRIC, "action", action.key(), "locator", String.valueOf(locator))
+                            .increment();
+                }
+                throw last;
+            }
+
+            MetricsRegistry.counter(RETRY_METRIC, "action", action.key(), "locator", String.valueOf(locator),
+                    "cause", last.getClass().getSimpleName()).increment();
+            log.debug("[Retry] {} {} failed with {}, attempt {} of {} in {}ms",
+                    action.key(), locator, last.getClass().getSimpleName(), tried + 1, attempts, backoff);
+            sleep(backoff, last);
+        }
+    }
+
+    /**
+     * Full jitter: uniform in [1, min(max, initial * 2^(retry - 1))].
+     */
+    private long backoffMillis(int retry) {
+        long cap = initialBackoffMillis << Math.min(retry - 1, 20);
+        return 1 + ThreadLocalRandom.current().nextLong(Math.min(maxBackoffMillis, cap));
+    }
+
+    private static void sleep(long millis, WebDriverException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    /**
+     * Element action types with separate retry budgets.
+     */
+    public enum Action {
+        CLICK,
+        TYPE,
+        READ;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.company.automation.framework.core;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.metrics.CommandTimingListener;
+import com.company.automation.framework.metrics.MetricsRegistry;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Polling engine behind the BasePage waits.
+ *
+ * Instead of WebDriverWait's fixed 500ms sleep it polls with adaptive backoff: the first re-check
+ * comes after a few milliseconds and the interval grows towards a cap, so an element that is ready
+ * after 20ms costs ~20ms rather than half a second.
+ *
+ * For element waits all requested {@link Readiness} checks run browser-side in one executeScript,
+ * so each poll is a single WebDriver round-trip. Every wait is recorded in the "ui_wait" histogram
+ * keyed by locator (or condition) so slow locators stand out.
+ *
+ * Tuning (config keys, all optional): wait.poll.initial.millis (10), wait.poll.max.millis (250),
+ * wait.poll.multiplier (2).
+ */
+public final class WaitEngine {
+
+    public static final String WAIT_METRIC = "ui_wait";
+
+    private static final String READY_SCRIPT =
+            "var using = arguments[0], value = arguments[1], checks = arguments[2], el = null;"
+            + "if (using === 'css selector' || using === 'tag name') { el = document.querySelector(value); }"
+            + "else if (using === 'id') { el = document.getElementById(value); }"
+            + "else if (using === 'name') { el = document.getElementsByName(value)[0]; }"
+            + "else if (using === 'class name') { el = document.getElementsByClassName(value)[0]; }"
+            + "else if (using === 'xpath') {"
+            + "  el = document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; }"
+            + "else { return 'unsupported'; }"
+            + "if (!el) { return 'missing'; }"
+            + "var rect = el.getBoundingClientRect();"
+            + "if (checks & 1) {"
+            + "  var shown = el.checkVisibility ? el.checkVisibility({checkOpacity: true, checkVisibilityCSS: true})"
+            + "      : (function (s) { return s.display !== 'none' && s.visibility !== 'hidden' && s.opacity !== '0'; })"
+            + "        (window.getComputedStyle(el));"
+            + "  if (!shown || rect.width === 0 || rect.height === 0) { return 'hidden'; } }"
+            + "if ((checks & 2) && (el.disabled || el.getAttribute('aria-disabled') === 'true')) { return 'disabled'; }"
+            + "if (checks & 4) {"
+            + "  var now = [rect.x, rect.y, rect.width, rect.height].join(','), last = el.__uiWaitRect;"
+            + "  el.__uiWaitRect = now;"
+            + "  if (last !== now) { return 'moving'; } }"
+            + "return el;";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+    private final double multiplier;
+
+    public WaitEngine(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.initialPollMillis = ConfigurationManager.getInt("wait.poll.initial.millis", 10);
+        this.maxPollMillis = ConfigurationManager.getInt("wait.poll.max.millis", 250);
+        this.multiplier = Double.parseDouble(ConfigurationManager.get("wait.poll.multiplier", "2"));
+    }
+
+    /**
+     * Wait until the element located by {@code locator} passes all checks, evaluated together in one
+     * script call per poll. Falls back to WebDriver-side checks for locators the script cannot resolve.
+     */
+    public WebElement until(By locator, Readiness... checks) {
+        int mask = 0;
+        for (Readiness check : checks) {
+            mask |= check.bit();
+        }
+        final int checkMask = mask;
+
+        By.Remotable.Parameters parameters = locator instanceof By.Remotable
+                ? ((By.Remotable) locator).getRemoteParameters()
+                : null;
+        if (parameters == null || !(driver instanceof JavascriptExecutor)) {
+            return until(d -> checkDriverSide(locator, checkMask), locator.toString());
+        }
+
+        String using = parameters.using();
+        Object value = parameters.value();
+        return until(d -> {
+            Object result;
+            try {
+                result = ((JavascriptExecutor) d).executeScript(READY_SCRIPT, using, value, checkMask);
+            } catch (JavascriptException | UnsupportedCommandException e) {
+                return checkDriverSide(locator, checkMask);
+            }
+            if (result instanceof WebElement) {
+                CommandTimingListener.attribute((WebElement) result, locator);
+                return (WebElement) result;
+            }
+            if ("unsupported".equals(result)) {
+                return checkDriverSide(locator, checkMask);
+            }
+            return null;
+        }, locator.toString());
+    }
+
+    /**
+     * Poll an arbitrary condition with adaptive backoff until it returns a non-null, non-false value.
+     */
+    public <T> T until(Function<WebDriver, T> condition, String label) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = initialPollMillis;
+        RuntimeException lastError = null;
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + label
+                            + " (tried for " + timeout.getSeconds() + " second(s) with adaptive polling)", lastError);
+                }
+                sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min(maxPollMillis, Math.max(pollMillis + 1, (long) (pollMillis * multiplier)));
+            }
+        } finally {
+            MetricsRegistry.histogram(WAIT_METRIC, "locator", label).recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private WebElement checkDriverSide(By locator, int checkMask) {
+        WebElement element = driver.findElement(locator);
+        if ((checkMask & Readiness.VISIBLE.bit()) != 0 && !element.isDisplayed()) {
+            return null;
+        }
+        if ((checkMask & Readiness.ENABLED.bit()) != 0 && !element.isEnabled()) {
+            return null;
+        }
+        return element;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Element conditions that can be checked together in one browser round-trip.
+     */
+    public enum Readiness {
+        /** Rendered with a non-empty box and not hidden by CSS. */
+        VISIBLE(1),
+        /** Not disabled. */
+        ENABLED(2),
+        /** Same position and size as on the previous check, i.e. not animating. */
+        STABLE(4);
+
+        private final int bit;
+
+        Readiness(int bit) {
+            this.bit = bit;
+        }
+
+        int bit() {
+            return bit;
+        }
+    }
+}
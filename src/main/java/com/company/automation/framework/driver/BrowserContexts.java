@@ -0,0 +1,191 @@
+package com.company.automation.framework.driver;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.config.RunMode;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.CdpEndpointFinder;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Browser-context isolation (driver.isolation=context): one Chrome process per JVM, and every scenario in its
+ * own browser context, Chrome's incognito-style profile with separate cookies, storage and cache.
+ *
+ * The shared browser is started by a host ChromeDriver session that scenarios never use. For each scenario a
+ * new context and a blank tab in it are created over the browser's DevTools endpoint (Target.createBrowserContext,
+ * Target.createTarget), and a lightweight ChromeDriver session is attached to the running browser through its
+ * debuggerAddress and switched to that tab. Closing the scenario quits the attached session, which leaves the
+ * browser running, and disposes the context with everything in it.
+ *
+ * A context costs a renderer process, not a browser: far less memory and startup time than a Chrome per worker.
+ * Only local Chrome sessions are isolated this way; other browsers and run.mode=remote start a browser per session.
+ */
+final class BrowserContexts {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowserContexts.class);
+
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(10);
+
+    private static volatile BrowserContexts host;
+
+    private final ChromeDriver browser;
+    private final String debuggerAddress;
+    private final Connection connection;
+    // Attached (undecorated) session -> its browser context
+    private final Map<WebDriver, String> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private BrowserContexts(ChromeDriver browser) {
+        this.browser = browser;
+        Object chromeOptions = browser.getCapabilities().getCapability("goog:chromeOptions");
+        Object address = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+        if (address == null) {
+            browser.quit();
+            throw new SessionNotCreatedException("driver.isolation=context: Chrome did not report a debuggerAddress");
+        }
+        this.debuggerAddress = address.toString();
+
+        HttpClient.Factory factory = HttpClient.Factory.createDefault();
+        URI endpoint = CdpEndpointFinder.getCdpEndPoint(
+                        CdpEndpointFinder.getHttpClient(factory, URI.create("http://" + debuggerAddress)))
+                .orElseThrow(() -> {
+                    browser.quit();
+                    return new SessionNotCreatedException("driver.isolation=context: no DevTools endpoint at "
+                            + debuggerAddress);
+                });
+        this.connection = new Connection(factory.createClient(ClientConfig.defaultConfig().baseUri(endpoint)),
+                endpoint.toString());
+    }
+
+    /**
+     * True when sessions for this browser are contexts in a shared browser.
+     */
+    static boolean enabled(BrowserType browserType) {
+        return browserType == BrowserType.CHROME
+                && "context".equals(ConfigurationManager.get("driver.isolation", "process").trim().toLowerCase(Locale.ROOT))
+                && ConfigurationManager.config().getRunMode() == RunMode.LOCAL;
+    }
+
+    /**
+     * The shared browser, started on first use.
+     */
+    static BrowserContexts host() {
+        BrowserContexts current = host;
+        if (current == null) {
+            synchronized (BrowserContexts.class) {
+                current = host;
+                if (current == null) {
+                    long start = System.nanoTime();
+                    current = new BrowserContexts(DriverFactory.createContextHost());
+                    log.info("[Contexts] Shared Chrome started in {}ms, DevTools at {}",
+                            (System.nanoTime() - start) / 1_000_000, current.debuggerAddress);
+                    host = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Create a fresh context with one blank tab and return a session attached to that tab.
+     *
+     * @param attach creates a ChromeDriver session attached to the given debuggerAddress
+     */
+    WebDriver open(Function<String, WebDriver> attach) {
+        String contextId = String.valueOf(send("Target.createBrowserContext",
+                // Disposed with our DevTools connection as well, so nothing outlives the run.
+                Map.of("disposeOnDetach", true)).get("browserContextId"));
+        try {
+            String targetId = String.valueOf(send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId"));
+            WebDriver driver = attach.apply(debuggerAddress);
+            try {
+                // ChromeDriver window handles are DevTools target ids
+                driver.switchTo().window(targetId);
+            } catch (WebDriverException e) {
+                driver.quit();
+                throw e;
+            }
+            contexts.put(driver, contextId);
+            opened.incrementAndGet();
+            return driver;
+        } catch (RuntimeException e) {
+            dispose(contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Quit a session created by {@link #open} and dispose its context. Returns false for any other driver.
+     */
+    static boolean close(WebDriver driver) {
+        BrowserContexts current = host;
+        if (current == null) {
+            return false;
+        }
+        WebDriver raw = DriverFactory.unwrap(driver);
+        String contextId = current.contexts.remove(raw);
+        if (contextId == null) {
+            return false;
+        }
+        try {
+            // An attached session leaves the browser running on quit
+            driver.quit();
+        } finally {
+            current.dispose(contextId);
+        }
+        return true;
+    }
+
+    /**
+     * Close the shared browser, e.g. from a shutdown hook. Open contexts go with it.
+     */
+    static void shutdown() {
+        BrowserContexts current;
+        synchronized (BrowserContexts.class) {
+            current = host;
+            host = null;
+        }
+        if (current == null) {
+            return;
+        }
+        log.info("[Contexts] Closing shared Chrome after {} context(s), {} still open",
+                current.opened.get(), current.contexts.size());
+        try {
+            current.connection.close();
+        } finally {
+            current.browser.quit();
+        }
+    }
+
+    private void dispose(String contextId) {
+        try {
+            send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (WebDriverException e) {
+            log.info("[Contexts] Could not dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> send(String method, Map<String, Object> params) {
+        // Browser-level commands: no target session
+        return connection.sendAndWait(null,
+                new Command<>(method, params, input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), CDP_TIMEOUT);
+    }
+}
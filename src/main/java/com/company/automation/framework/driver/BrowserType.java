@@ -3,5 +3,7 @@ package com.company.automation.framework.driver;
 public enum BrowserType {
     CHROME,
     FIREFOX,
-    EDGE
+    EDGE,
+    /** In-process HtmlUnit engine: no real browser, no rendering or screenshots, a few MB per session. */
+    HTMLUNIT
 }
@@ -0,0 +1,186 @@
+package com.company.automation.framework.driver;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the driver binary (chromedriver, geckodriver, msedgedriver) once per JVM per browser type.
+ *
+ * WebDriverManager does version detection, filesystem and sometimes network work on every setup() call,
+ * so the result is memoized process-wide and pinned in a local lockfile (driver.lockfile) together with
+ * the major version of the browser it was resolved for. Later runs reuse the pinned path as long as the
+ * installed browser still has that major version (a local version check, no network), and re-resolve
+ * after a browser upgrade.
+ *
+ * With driver.offline=true the lockfile is the only source and is not checked: startup never touches the
+ * network and fails fast if a browser has not been pinned yet. -Ddriver.lockfile.refresh=true always
+ * re-resolves.
+ */
+public final class DriverBinaries {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverBinaries.class);
+
+    private static final Map<BrowserType, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaries() {
+        // utility class
+    }
+
+    /**
+     * Make sure the driver binary for the browser is known to Selenium and return its path.
+     * Only the first call per browser type does any work.
+     */
+    public static String resolve(BrowserType browserType) {
+        return RESOLVED.computeIfAbsent(browserType, DriverBinaries::resolveOnce);
+    }
+
+    private static String resolveOnce(BrowserType browserType) {
+        String systemProperty = driverSystemProperty(browserType);
+        String preset = System.getProperty(systemProperty);
+        if (preset != null && !preset.isEmpty()) {
+            log.info("[DriverBinaries] Using {}={}", systemProperty, preset);
+            return preset;
+        }
+
+        Path lockfile = Paths.get(ConfigurationManager.get("driver.lockfile", ".webdriver.lock"));
+        boolean offline = ConfigurationManager.getBoolean("driver.offline", false);
+        boolean refresh = ConfigurationManager.getBoolean("driver.lockfile.refresh", false);
+        String name = browserType.name().toLowerCase(Locale.ROOT);
+        String key = name + ".path";
+
+        Properties locked = readLockfile(lockfile);
+        String pinned = locked.getProperty(key);
+        boolean usable = pinned != null && Files.isExecutable(Paths.get(pinned));
+        if (offline) {
+            if (!usable) {
+                throw new IllegalStateException("driver.offline=true but no usable " + key + " in " + lockfile
+                        + ". Run once online (or set " + systemProperty + ") to pin the driver binary.");
+            }
+            return usePinned(browserType, systemProperty, lockfile, pinned);
+        }
+
+        WebDriverManager manager = managerFor(browserType);
+        Optional<String> browserMajor = installedBrowserMajor(manager);
+        if (usable && !refresh) {
+            String pinnedMajor = locked.getProperty(name + ".browser.version");
+            if (browserMajor.isPresent() && browserMajor.get().equals(pinnedMajor)) {
+                return usePinned(browserType, systemProperty, lockfile, pinned);
+            }
+            log.info("[DriverBinaries] {} driver in {} was pinned for browser version {}, installed: {}; re-resolving",
+                    browserType, lockfile, pinnedMajor, browserMajor.orElse("unknown"));
+        }
+
+        long start = System.nanoTime();
+        manager.setup();
+        String path = manager.getDownloadedDriverPath();
+        log.info("[DriverBinaries] Resolved {} driver {} in {}ms: {}",
+                browserType, manager.getDownloadedDriverVersion(), (System.nanoTime() - start) / 1_000_000, path);
+        if (path != null) {
+            Properties pins = new Properties();
+            pins.setProperty(key, path);
+            if (manager.getDownloadedDriverVersion() != null) {
+                pins.setProperty(name + ".version", manager.getDownloadedDriverVersion());
+            }
+            // Without a browser version the pin cannot be checked, so the next online run re-resolves
+            browserMajor.ifPresent(major -> pins.setProperty(name + ".browser.version", major));
+            pin(lockfile, name, pins);
+        }
+        return path;
+    }
+
+    private static String usePinned(BrowserType browserType, String systemProperty, Path lockfile, String pinned) {
+        System.setProperty(systemProperty, pinned);
+        log.info("[DriverBinaries] {} driver pinned by {}: {}", browserType, lockfile, pinned);
+        return pinned;
+    }
+
+    /**
+     * Major version of the locally installed browser, asked from the browser binary itself (no network);
+     * empty when it cannot be detected.
+     */
+    private static Optional<String> installedBrowserMajor(WebDriverManager manager) {
+        try (HttpClient client = new HttpClient(manager.config())) {
+            VersionDetector detector = new VersionDetector(manager.config(), client);
+            return detector.getBrowserVersionFromTheShell(manager.getDriverManagerType().getNameLowerCase())
+                    .map(VersionDetector::getMajorVersion);
+        } catch (IOException | RuntimeException e) {
+            log.debug("[DriverBinaries] Browser version detection failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static WebDriverManager managerFor(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return WebDriverManager.firefoxdriver();
+            case EDGE:
+                return WebDriverManager.edgedriver();
+            case CHROME:
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String driverSystemProperty(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            case CHROME:
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static Properties readLockfile(Path lockfile) {
+        Properties props = new Properties();
+        if (Files.isRegularFile(lockfile)) {
+            try (InputStream in = Files.newInputStream(lockfile)) {
+                props.load(in);
+            } catch (IOException e) {
+                log.warn("[DriverBinaries] Ignoring unreadable lockfile {}: {}", lockfile, e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Several browser types (or shard JVMs) may pin at the same time: merge under a class lock
+     * and replace the file atomically so readers never see a partial write.
+     */
+    private static synchronized void pin(Path lockfile, String name, Properties pins) {
+        Properties props = readLockfile(lockfile);
+        // Replace every entry of this browser, so no stale browser version survives a re-resolution
+        props.keySet().removeIf(k -> k.toString().startsWith(name + "."));
+        props.putAll(pins);
+        try {
+            Path parent = lockfile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, ".webdriver", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "Pinned WebDriver binaries (delete or run with -Ddriver.lockfile.refresh=true to re-resolve)");
+            }
+            Files.move(tmp, lockfile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[DriverBinaries] Could not write lockfile {}: {}", lockfile, e.getMessage());
+        }
+    }
+}
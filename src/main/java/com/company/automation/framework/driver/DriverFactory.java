@@ -1,13 +1,26 @@
 package com.company.automation.framework.driver;
 
 import com.company.automation.framework.config.ConfigurationManager;
-import com.company.automation.framework.pages.LoginPage;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.company.automation.framework.config.FrameworkConfig;
+import com.company.automation.framework.config.RunMode;
+import com.company.automation.framework.core.PageReadiness;
+import com.company.automation.framework.metrics.CommandTimingListener;
+import com.company.automation.framework.network.NetworkPolicy;
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.WebClient;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,72 +30,218 @@ import java.util.Map;
 
 /**
  * Creates WebDriver instances based on browser and run.mode (local/remote).
- * For now, we only implement local mode; remote (Selenium Grid) can be added later.
+ *
+ * In remote mode, remote.url may list several Selenium Grid endpoints (comma-separated);
+ * sessions are spread across them by {@link GridLoadBalancer}. HTMLUNIT sessions always run
+ * in-process, whatever the run mode. With driver.isolation=context, local Chrome sessions are
+ * browser contexts in one shared Chrome (see {@link BrowserContexts}).
  */
 public final class DriverFactory {
     private static final Logger log = LoggerFactory.getLogger(DriverFactory.class);
+
+    private static volatile GridLoadBalancer gridLoadBalancer;
+
     private DriverFactory() {
         // utility class
     }
 
     public static WebDriver createInstance(BrowserType browserType) {
-        String runMode = ConfigurationManager.get("run.mode");
+        FrameworkConfig config = ConfigurationManager.config();
 
-        // For now we only support local. Later we can add remote/grid here.
-        if (!"local".equalsIgnoreCase(runMode)) {
-            throw new UnsupportedOperationException("Only local run.mode is supported at this point");
+        WebDriver driver;
+        if (BrowserContexts.enabled(browserType)) {
+            driver = BrowserContexts.host().open(DriverFactory::attachChrome);
+        } else {
+            switch (browserType == BrowserType.HTMLUNIT ? RunMode.LOCAL : config.getRunMode()) {
+                case REMOTE:
+                    driver = grid().createSession(optionsFor(browserType));
+                    break;
+                case LOCAL:
+                default:
+                    driver = createLocal(browserType);
+            }
         }
 
-        WebDriver driver;
+        // Timeouts from config
+        driver.manage().timeouts()
+                .implicitlyWait(config.getImplicitWait());
+        driver.manage().timeouts()
+                .pageLoadTimeout(config.getPageLoadTimeout());
+        driver.manage().window().maximize();
+
+        // Block lists, network emulation, asset cache and traffic metering (Chromium only, see NetworkPolicy).
+        NetworkPolicy.shared().apply(driver);
+        // Navigation waits follow lifecycle events instead of polling (Chromium only, see PageReadiness).
+        if (config.getBoolean("page.readiness.events", true)) {
+            PageReadiness.attach(driver);
+        }
+
+        // Time every command; the decorated driver still implements the original's interfaces
+        // (JavascriptExecutor, TakesScreenshot, HasDevTools), use unwrap() for the concrete class.
+        if (config.getBoolean("metrics.webdriver.enabled", true)) {
+            driver = new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+        }
+
+        return driver;
+    }
+
+    /**
+     * The underlying driver behind any decorators, e.g. to check for ChromiumDriver before a CDP call.
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) current).getWrappedDriver();
+            if (wrapped == null || wrapped == current) {
+                break;
+            }
+            current = wrapped;
+        }
+        return current;
+    }
+
+    /**
+     * True for drivers without a real browser behind them (HtmlUnit): no rendering, screenshots or
+     * MutationObserver callbacks, so pages should not rely on those.
+     */
+    public static boolean isLightweight(WebDriver driver) {
+        return unwrap(driver) instanceof HtmlUnitDriver;
+    }
+
+    private static WebDriver createLocal(BrowserType browserType) {
+        if (browserType == BrowserType.HTMLUNIT) {
+            return htmlUnitDriver();
+        }
+
+        // Memoized per JVM (and pinned in the driver lockfile), so this is a map lookup after the first session.
+        DriverBinaries.resolve(browserType);
+
         switch (browserType) {
             case FIREFOX:
-                WebDriverManager.firefoxdriver().setup();
-                driver = new FirefoxDriver();
-                break;
+                return new FirefoxDriver(firefoxOptions());
 
             case EDGE:
-                WebDriverManager.edgedriver().setup();
-                driver = new EdgeDriver();
-                break;
+                return new EdgeDriver(edgeOptions());
 
             case CHROME:
             default:
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions options = new ChromeOptions();
-
-                // Disable Chrome password manager UI
-                Map<String, Object> prefs = new HashMap<>();
-                prefs.put("credentials_enable_service", false);
-                prefs.put("profile.password_manager_enabled", false);
-                options.setExperimentalOption("prefs", prefs);
-                options.addArguments("--incognito");
-
-                // Disable password leak detection (“Change your password” dialog)
-                options.addArguments("--disable-features=PasswordLeakDetection");
-
-                String browserProp = System.getProperty("browser", "chrome");
-                if ("chrome-headless".equalsIgnoreCase(browserProp)) {
-                    log.info("Headless chrome running");
-                    options.addArguments("--headless=new");
-                    options.addArguments("--no-sandbox");
-                    options.addArguments("--disable-dev-shm-usage");
-                    options.addArguments("--disable-gpu");
-                    options.addArguments("--window-size=1920,1080");
-                }
+                return new ChromeDriver(chromeOptions());
+        }
+    }
 
-                driver = new ChromeDriver(options);
+    /**
+     * The Chrome that hosts all browser contexts; its own session is never handed to a scenario.
+     */
+    static ChromeDriver createContextHost() {
+        DriverBinaries.resolve(BrowserType.CHROME);
+        return new ChromeDriver(chromeOptions());
+    }
+
+    /**
+     * A ChromeDriver session on an already running Chrome. Launch arguments belong to the host;
+     * only session-level options apply here.
+     */
+    private static WebDriver attachChrome(String debuggerAddress) {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy());
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        options.setCapability("goog:loggingPrefs", Map.of(LogType.BROWSER, "ALL"));
+        return new ChromeDriver(options);
+    }
+
+    private static WebDriver htmlUnitDriver() {
+        return new HtmlUnitDriver(BrowserVersion.CHROME, true) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                // A script error in a third-party snippet should not fail a functional check;
+                // the scenario's own assertions decide.
+                client.getOptions().setThrowExceptionOnScriptError(false);
+                client.getOptions().setPrintContentOnFailingStatusCode(false);
+                return client;
+            }
+        };
+    }
+
+    private static Capabilities optionsFor(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return firefoxOptions();
+            case EDGE:
+                return edgeOptions();
+            case CHROME:
+            default:
+                return chromeOptions();
         }
+    }
 
-        // Timeouts from config
-        int implicitWait = ConfigurationManager.getInt("implicit.wait");
-        int pageLoadTimeout = ConfigurationManager.getInt("page.load.timeout");
+    private static FirefoxOptions firefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(pageLoadStrategy());
+        return options;
+    }
 
-        driver.manage().timeouts()
-                .implicitlyWait(Duration.ofSeconds(implicitWait));
-        driver.manage().timeouts()
-                .pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
-        driver.manage().window().maximize();
+    private static EdgeOptions edgeOptions() {
+        EdgeOptions options = new EdgeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy());
+        return options;
+    }
 
-        return driver;
+    /**
+     * page.load.strategy: "eager" (default) returns from get() at DOMContentLoaded instead of waiting for
+     * every image and script; safe because page objects wait for the elements they use anyway.
+     */
+    private static PageLoadStrategy pageLoadStrategy() {
+        String value = ConfigurationManager.get("page.load.strategy", "eager").trim();
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value);
+        if (strategy == null) {
+            throw new IllegalArgumentException("page.load.strategy must be normal, eager or none, got: " + value);
+        }
+        return strategy;
+    }
+
+    private static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        // Disable Chrome password manager UI
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        options.setExperimentalOption("prefs", prefs);
+        options.addArguments("--incognito");
+
+        // Disable password leak detection (“Change your password” dialog)
+        options.addArguments("--disable-features=PasswordLeakDetection");
+
+        // Keep the browser console log so it can be attached to failed scenarios
+        options.setCapability("goog:loggingPrefs", Map.of(LogType.BROWSER, "ALL"));
+
+        String browserProp = System.getProperty("browser", "chrome");
+        if ("chrome-headless".equalsIgnoreCase(browserProp)) {
+            log.info("Headless chrome running");
+            options.addArguments("--headless=new");
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--disable-gpu");
+            options.addArguments("--window-size=1920,1080");
+        }
+        return options;
+    }
+
+    private static GridLoadBalancer grid() {
+        GridLoadBalancer balancer = gridLoadBalancer;
+        if (balancer == null) {
+            synchronized (DriverFactory.class) {
+                balancer = gridLoadBalancer;
+                if (balancer == null) {
+                    balancer = new GridLoadBalancer(
+                            ConfigurationManager.config().getRemoteUrls(),
+                            Duration.ofSeconds(ConfigurationManager.getInt("remote.queue.timeout", 300)),
+                            Duration.ofMillis(ConfigurationManager.getInt("remote.status.max.age.millis", 1000)));
+                    gridLoadBalancer = balancer;
+                }
+            }
+        }
+        return balancer;
     }
 }
@@ -1,37 +1,152 @@
 package com.company.automation.framework.driver;
 
+import com.company.automation.framework.config.ConfigurationManager;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Thread-safe holder of WebDriver instances.
- * Each test thread gets its own driver via ThreadLocal.
+ * Each scenario's driver lives in its {@link ScenarioContext}, bound to the thread running the scenario;
+ * callers without an open context get one implicitly on their thread.
+ *
+ * When driver.pool.enabled=true, {@link #acquire(BrowserType)} leases a warm session from a
+ * per-browser {@link DriverPool} and {@link #release()} hands it back instead of quitting it.
+ * With driver.isolation=context, Chrome sessions are never pooled: each scenario gets a new browser
+ * context in the shared Chrome, and releasing it closes only that context.
  */
 public final class DriverManager {
 
-    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final Map<BrowserType, DriverPool> POOLS = new ConcurrentHashMap<>();
+
+    // Set by the runner (e.g. to the worker count); 0 = use driver.pool.size / driver.pool.warm
+    private static volatile int poolSize;
+    private static volatile int poolWarm;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            shutdownPools();
+            BrowserContexts.shutdown();
+        }, "driver-pool-shutdown"));
+    }
 
     private DriverManager() {
         // utility class
     }
 
     public static void setDriver(WebDriver driver) {
-        DRIVER.set(driver);
+        ScenarioContext.currentOrOpen().attach(driver, null);
     }
 
     public static WebDriver getDriver() {
-        WebDriver driver = DRIVER.get();
+        ScenarioContext context = ScenarioContext.current();
+        WebDriver driver = context == null ? null : context.getDriver();
         if (driver == null) {
-            throw new IllegalStateException("WebDriver not set for this thread. " +
-                    "Call DriverManager.setDriver() before using it.");
+            throw new IllegalStateException("WebDriver not set for this scenario. " +
+                    "Call DriverManager.acquire() or DriverManager.setDriver() before using it.");
         }
         return driver;
     }
 
+    /**
+     * Bind a driver for the given browser to the current scenario, from the pool if pooling is enabled.
+     */
+    public static WebDriver acquire(BrowserType browserType) {
+        ScenarioContext context = ScenarioContext.currentOrOpen();
+        if (!ConfigurationManager.getBoolean("driver.pool.enabled", false) || BrowserContexts.enabled(browserType)) {
+            WebDriver driver = DriverFactory.createInstance(browserType);
+            context.attach(driver, null);
+            return driver;
+        }
+        PooledSession session = poolFor(browserType).checkout();
+        context.attach(session.getDriver(), session);
+        return session.getDriver();
+    }
+
+    /**
+     * Give up the current scenario's driver: pooled sessions are reset and returned, others are quit.
+     */
+    public static void release() {
+        ScenarioContext context = ScenarioContext.current();
+        PooledSession session = context == null ? null : context.getLease();
+        if (session == null) {
+            quit();
+            return;
+        }
+        try {
+            session.getOwner().checkin(session);
+        } finally {
+            context.detach();
+        }
+    }
+
+    /**
+     * Quit the current scenario's driver. A pooled session is evicted rather than returned; a browser
+     * context is closed, leaving the shared browser running.
+     */
     public static void quit() {
-        WebDriver driver = DRIVER.get();
-        if (driver != null) {
+        ScenarioContext context = ScenarioContext.current();
+        if (context == null) {
+            return;
+        }
+        PooledSession session = context.getLease();
+        if (session != null) {
+            try {
+                session.getOwner().discard(session);
+            } finally {
+                context.detach();
+            }
+            return;
+        }
+        WebDriver driver = context.getDriver();
+        context.detach();
+        if (driver != null && !BrowserContexts.close(driver)) {
             driver.quit();
-            DRIVER.remove();
         }
     }
+
+    /**
+     * Size pools created from now on explicitly, taking precedence over driver.pool.size and driver.pool.warm
+     * from configuration.
+     */
+    public static void setPoolSize(int size, int warm) {
+        if (size < 1 || warm < 0) {
+            throw new IllegalArgumentException("Pool size must be >= 1 and warm-up >= 0, got " + size + "/" + warm);
+        }
+        poolWarm = warm;
+        poolSize = size;
+    }
+
+    /**
+     * Metrics of the pool for the given browser, or null if no pool has been created for it.
+     */
+    public static PoolMetrics getPoolMetrics(BrowserType browserType) {
+        DriverPool pool = POOLS.get(browserType);
+        return pool == null ? null : pool.getMetrics();
+    }
+
+    private static DriverPool poolFor(BrowserType browserType) {
+        return POOLS.computeIfAbsent(browserType, type -> {
+            int fixedSize = poolSize;
+            int size = fixedSize > 0 ? fixedSize : ConfigurationManager.getInt("driver.pool.size", 3);
+            int warm = fixedSize > 0 ? poolWarm : ConfigurationManager.getInt("driver.pool.warm", size);
+            DriverPool pool = new DriverPool(
+                    type,
+                    () -> DriverFactory.createInstance(type),
+                    size,
+                    ConfigurationManager.getInt("driver.pool.max.reuse", 50),
+                    Duration.ofSeconds(ConfigurationManager.getInt("driver.pool.checkout.timeout", 120)));
+            pool.warmUp(warm);
+            return pool;
+        });
+    }
+
+    private static void shutdownPools() {
+        for (DriverPool pool : POOLS.values()) {
+            pool.shutdown();
+        }
+        POOLS.clear();
+    }
 }
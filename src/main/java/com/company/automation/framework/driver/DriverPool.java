@@ -0,0 +1,246 @@
+package com.company.automation.framework.driver;
+
+import com.company.automation.framework.utils.Threads;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions for a single browser type.
+ *
+ * Sessions are checked out for the duration of one scenario and checked back in afterwards.
+ * On checkin the session is reset (extra tabs closed, storage and cookies cleared,
+ * navigated to about:blank) so the next scenario starts from a clean browser.
+ * Sessions that fail a health check, fail to reset, or reach {@code maxReuse} leases are evicted.
+ */
+public final class DriverPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final BrowserType browserType;
+    private final Supplier<WebDriver> sessionFactory;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration checkoutTimeout;
+
+    // One permit per live session (idle or leased), so the pool never exceeds maxSize browsers.
+    private final Semaphore slots;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledSession> live = ConcurrentHashMap.newKeySet();
+    private final PoolMetrics metrics = new PoolMetrics();
+    private final ExecutorService warmer;
+
+    private volatile boolean closed;
+
+    public DriverPool(BrowserType browserType, Supplier<WebDriver> sessionFactory,
+                      int maxSize, int maxReuse, Duration checkoutTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got: " + maxSize);
+        }
+        this.browserType = browserType;
+        this.sessionFactory = sessionFactory;
+        this.maxSize = maxSize;
+        this.maxReuse = maxReuse;
+        this.checkoutTimeout = checkoutTimeout;
+        this.slots = new Semaphore(maxSize, true);
+        // Warm-up tasks just wait for browsers to start: a thread each, virtual where available
+        this.warmer = Threads.newPerTaskExecutor("driver-pool-warmer-" + browserType.name().toLowerCase());
+    }
+
+    /**
+     * Start up to {@code count} sessions in the background so the first scenarios find warm browsers.
+     */
+    public void warmUp(int count) {
+        int target = Math.min(count, maxSize);
+        for (int i = 0; i < target; i++) {
+            if (!slots.tryAcquire()) {
+                return;
+            }
+            warmer.submit(() -> {
+                try {
+                    PooledSession session = newSession();
+                    idle.offerLast(session);
+                } catch (RuntimeException e) {
+                    slots.release();
+                    log.warn("[DriverPool] Failed to pre-warm {} session: {}", browserType, e.getMessage());
+                }
+            });
+        }
+        log.info("[DriverPool] Pre-warming {} {} session(s), pool size {}", target, browserType, maxSize);
+    }
+
+    /**
+     * Lease a session: an idle healthy one if available (hit), otherwise a new one
+     * if the pool still has capacity (miss). Blocks until a session frees up or the checkout timeout expires.
+     */
+    PooledSession checkout() {
+        long start = System.nanoTime();
+        long deadline = start + checkoutTimeout.toNanos();
+        try {
+            while (!closed) {
+                PooledSession session = idle.pollFirst();
+                if (session != null) {
+                    if (isHealthy(session)) {
+                        metrics.recordHit();
+                        return lease(session);
+                    }
+                    evict(session, "failed health check");
+                    continue;
+                }
+
+                if (slots.tryAcquire()) {
+                    try {
+                        PooledSession created = newSession();
+                        metrics.recordMiss();
+                        return lease(created);
+                    } catch (RuntimeException e) {
+                        slots.release();
+                        throw e;
+                    }
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + checkoutTimeout.getSeconds()
+                            + "s waiting for a free " + browserType + " session (pool size " + maxSize + ")");
+                }
+                // Wake up periodically: a slot may free up through eviction rather than checkin.
+                session = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(250)), TimeUnit.NANOSECONDS);
+                if (session != null) {
+                    idle.offerFirst(session);
+                }
+            }
+            throw new IllegalStateException("Driver pool for " + browserType + " is shut down");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + browserType + " session", e);
+        } finally {
+            metrics.recordCheckout(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Return a leased session. It is reset and made available again, or evicted if it is
+     * worn out or cannot be reset.
+     */
+    void checkin(PooledSession session) {
+        if (closed) {
+            evict(session, "pool shut down");
+            return;
+        }
+        if (session.getLeases() >= maxReuse) {
+            evict(session, "reached max reuse of " + maxReuse);
+            return;
+        }
+        if (!reset(session.getDriver())) {
+            evict(session, "reset failed");
+            return;
+        }
+        idle.offerFirst(session);
+    }
+
+    /**
+     * Drop a leased session without returning it, e.g. when the caller knows the browser is broken.
+     */
+    void discard(PooledSession session) {
+        evict(session, "discarded by caller");
+    }
+
+    public void shutdown() {
+        closed = true;
+        warmer.shutdownNow();
+        for (PooledSession session : live.toArray(new PooledSession[0])) {
+            evict(session, "pool shut down");
+        }
+        log.info("[DriverPool] {} pool closed: {}", browserType, metrics);
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public BrowserType getBrowserType() {
+        return browserType;
+    }
+
+    private PooledSession newSession() {
+        PooledSession session = new PooledSession(sessionFactory.get(), this);
+        live.add(session);
+        return session;
+    }
+
+    private PooledSession lease(PooledSession session) {
+        session.markLeased();
+        return session;
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            return !session.getDriver().getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String keep = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(keep);
+
+            // Storage is per-origin, so it has to be cleared before leaving the AUT page.
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            // deleteAllCookies() only covers the current domain; CDP clears the whole profile on Chromium.
+            WebDriver raw = DriverFactory.unwrap(driver);
+            if (raw instanceof ChromiumDriver) {
+                ((ChromiumDriver) raw).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException | IllegalStateException e) {
+            log.info("[DriverPool] Session reset failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        if (!live.remove(session)) {
+            return;
+        }
+        metrics.recordEviction();
+        slots.release();
+        log.info("[DriverPool] Evicting {} session after {} lease(s): {}", browserType, session.getLeases(), reason);
+        try {
+            session.getDriver().quit();
+        } catch (WebDriverException e) {
+            log.info("[DriverPool] Ignoring error while quitting evicted session: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.company.automation.framework.driver;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.metrics.MetricsRegistry;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fail-fast for environment-wide outages: once the application under test (base.url) looks down, the remaining
+ * scenarios are skipped right away instead of each starting a browser and sitting out page.load.timeout and
+ * explicit.wait.
+ *
+ * The page layer reports environmental failures through {@link #recordFailure}: a navigation that times out or
+ * cannot connect, the login form never appearing. A scenario that ends with one counts towards
+ * circuit.failure.threshold consecutive failures (default 3); any other outcome shows the site answering and
+ * resets the count. The circuit opens when the threshold is reached, or when the suite-level probe of base.url
+ * ({@link #preflight()}) fails; {@link #skipReason()} then tells the hooks to skip without touching a browser.
+ *
+ * While open, at most every circuit.probe.interval.seconds (30) a scenario start probes base.url over plain HTTP
+ * (circuit.probe.timeout.seconds, 5). A response below 500 half-opens the circuit: scenarios run again, the first
+ * environmental failure opens it again and any other outcome closes it. circuit.enabled=false turns it off.
+ */
+public final class EnvironmentCircuitBreaker {
+
+    public static final String SKIPPED_METRIC = "scenarios_skipped_circuit_open";
+
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentCircuitBreaker.class);
+
+    private static volatile EnvironmentCircuitBreaker shared;
+
+    /**
+     * Circuit states.
+     */
+    public enum State {
+        /** Scenarios run; environmental failures are counted. */
+        CLOSED,
+        /** Scenarios are skipped; base.url is probed periodically. */
+        OPEN,
+        /** The probe succeeded; the next scenario outcome closes or reopens the circuit. */
+        HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int threshold;
+    private final long probeIntervalNanos;
+    private final Duration probeTimeout;
+    private final String baseUrl;
+    private final HttpClient probeClient;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private String openReason;
+    private long lastProbeNanos;
+    private boolean probing;
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private EnvironmentCircuitBreaker() {
+        this(ConfigurationManager.getBoolean("circuit.enabled", true),
+                ConfigurationManager.getInt("circuit.failure.threshold", 3),
+                Duration.ofSeconds(ConfigurationManager.getInt("circuit.probe.interval.seconds", 30)),
+                Duration.ofSeconds(ConfigurationManager.getInt("circuit.probe.timeout.seconds", 5)),
+                ConfigurationManager.config().getBaseUrl());
+    }
+
+    EnvironmentCircuitBreaker(boolean enabled, int threshold, Duration probeInterval, Duration probeTimeout,
+                              String baseUrl) {
+        this.enabled = enabled;
+        this.threshold = Math.max(1, threshold);
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.probeTimeout = probeTimeout;
+        this.baseUrl = baseUrl;
+        this.probeClient = HttpClient.newBuilder()
+                .connectTimeout(probeTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public static EnvironmentCircuitBreaker shared() {
+        EnvironmentCircuitBreaker current = shared;
+        if (current == null) {
+            synchronized (EnvironmentCircuitBreaker.class) {
+                current = shared;
+                if (current == null) {
+                    current = new EnvironmentCircuitBreaker();
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * True for navigation errors that point at the environment rather than the test: page-load timeouts and
+     * connection failures (Chromium net::ERR_*, Firefox error pages, socket errors in HtmlUnit).
+     */
+    public static boolean isEnvironmental(WebDriverException e) {
+        if (e instanceof TimeoutException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.contains("net::ERR_") || message.contains("about:neterror"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Suite-level check before the first scenario: opens the circuit at once if base.url does not answer.
+     */
+    public void preflight() {
+        if (!enabled) {
+            return;
+        }
+        String problem = probe();
+        synchronized (this) {
+            lastProbeNanos = System.nanoTime();
+            if (problem != null) {
+                open("base.url probe failed: " + problem);
+            } else {
+                log.info("[Circuit] {} is up", baseUrl);
+            }
+        }
+    }
+
+    /**
+     * Why the scenario about to start should be skipped, or empty when it may run. An open circuit whose probe
+     * interval has passed probes base.url first.
+     */
+    public Optional<String> skipReason() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (state != State.OPEN) {
+                return Optional.empty();
+            }
+            if (probing || System.nanoTime() - lastProbeNanos < probeIntervalNanos) {
+                return skip();
+            }
+            // Only this caller probes; others keep skipping until the verdict is in.
+            probing = true;
+            lastProbeNanos = System.nanoTime();
+        }
+
+        String problem = probe();
+        synchronized (this) {
+            probing = false;
+            lastProbeNanos = System.nanoTime();
+            if (problem != null) {
+                log.info("[Circuit] Still open, probe failed: {}", problem);
+                return skip();
+            }
+            state = State.HALF_OPEN;
+            log.info("[Circuit] Probe succeeded, half-open: the next scenario outcome decides");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Report an environmental failure in the current scenario. Counted once per scenario, when it finishes.
+     */
+    public void recordFailure(String what, Throwable cause) {
+        if (!enabled) {
+            return;
+        }
+        String description = what + ": " + firstLine(cause);
+        log.warn("[Circuit] Environmental failure: {}", description);
+        ScenarioContext context = ScenarioContext.current();
+        if (context != null) {
+            context.markEnvironmentFailure(description);
+        } else {
+            // No scenario to attribute it to (code outside the hooks): count it right away
+            outcome(description);
+        }
+    }
+
+    /**
+     * Feed the outcome of the current scenario into the circuit. Call before its {@link ScenarioContext} closes;
+     * skipped scenarios are not outcomes.
+     */
+    public void scenarioFinished() {
+        if (!enabled) {
+            return;
+        }
+        ScenarioContext context = ScenarioContext.current();
+        outcome(context == null ? null : context.getEnvironmentFailure());
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * One line for the end of the run, or null when no scenario was skipped.
+     */
+    public synchronized String summary() {
+        if (skipped.get() == 0) {
+            return null;
+        }
+        return "opened " + opened.get() + " time(s), " + skipped.get() + " scenario(s) skipped, now " + state;
+    }
+
+    private synchronized void outcome(String environmentFailure) {
+        if (environmentFailure == null) {
+            if (state == State.HALF_OPEN) {
+                log.info("[Circuit] Closed: the environment answers again");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            open("still failing after a successful probe, last: " + environmentFailure);
+        } else if (state == State.CLOSED && consecutiveFailures >= threshold) {
+            open(consecutiveFailures + " consecutive environmental failure(s), last: " + environmentFailure);
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openReason = reason;
+        lastProbeNanos = System.nanoTime();
+        opened.incrementAndGet();
+        log.warn("[Circuit] Open, skipping scenarios until base.url answers (probe every {}s): {}",
+                Duration.ofNanos(probeIntervalNanos).getSeconds(), reason);
+    }
+
+    private Optional<String> skip() {
+        skipped.incrementAndGet();
+        MetricsRegistry.counter(SKIPPED_METRIC).increment();
+        return Optional.of("Environment unavailable, skipped without starting a browser (circuit open: "
+                + openReason + ")");
+    }
+
+    /**
+     * GET base.url; null when it answers with a status below 500, otherwise what went wrong.
+     */
+    private String probe() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                    .timeout(probeTimeout)
+                    .GET()
+                    .build();
+            int status = probeClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 500 ? null : baseUrl + " answered HTTP " + status;
+        } catch (IOException | IllegalArgumentException e) {
+            return baseUrl + ": " + firstLine(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return baseUrl + ": interrupted";
+        }
+    }
+
+    private static String firstLine(Throwable e) {
+        String message = e instanceof WebDriverException ? ((WebDriverException) e).getRawMessage() : e.getMessage();
+        if (message == null || message.isBlank()) {
+            return e.getClass().getSimpleName();
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.automation.framework.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One Selenium Grid hub/router and what we last learned about its free slots.
+ */
+final class GridEndpoint {
+
+    /** Marker for an endpoint whose status could not be read. */
+    static final int UNREACHABLE = -1;
+
+    private final URL url;
+    private final String statusUrl;
+
+    // Sessions this JVM has asked for but the grid may not report as busy yet.
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile JsonNode lastStatus;
+    private volatile long lastRefreshNanos;
+
+    GridEndpoint(URL url) {
+        this.url = url;
+        String base = url.toString();
+        this.statusUrl = (base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + "/status";
+    }
+
+    URL getUrl() {
+        return url;
+    }
+
+    String getStatusUrl() {
+        return statusUrl;
+    }
+
+    boolean isStale(long maxAgeNanos) {
+        return lastStatus == null || System.nanoTime() - lastRefreshNanos > maxAgeNanos;
+    }
+
+    void update(JsonNode status) {
+        this.lastStatus = status;
+        this.lastRefreshNanos = System.nanoTime();
+    }
+
+    void invalidate() {
+        this.lastRefreshNanos = 0L;
+    }
+
+    AtomicInteger pending() {
+        return pending;
+    }
+
+    /**
+     * Free slots for the browser according to the last Grid 4 /status response, minus our own
+     * in-flight requests. Returns {@link #UNREACHABLE} if the endpoint could not be queried.
+     */
+    int freeSlots(String browserName) {
+        JsonNode status = lastStatus;
+        if (status == null || status.isMissingNode()) {
+            return UNREACHABLE;
+        }
+        JsonNode value = status.path("value");
+        if (!value.path("ready").asBoolean(true)) {
+            return 0;
+        }
+        if (!value.has("nodes")) {
+            // Older hubs don't report slots: treat as available and let the hub queue the request.
+            return 1;
+        }
+        int free = 0;
+        for (JsonNode node : value.path("nodes")) {
+            String availability = node.path("availability").textValue();
+            if (availability != null && !"UP".equalsIgnoreCase(availability)) {
+                continue;
+            }
+            for (JsonNode slot : node.path("slots")) {
+                boolean idle = slot.path("session").isNull() || slot.path("session").isMissingNode();
+                String slotBrowser = slot.path("stereotype").path("browserName").textValue();
+                if (idle && browserName.equalsIgnoreCase(slotBrowser)) {
+                    free++;
+                }
+            }
+        }
+        return Math.max(0, free - pending.get());
+    }
+
+    @Override
+    public String toString() {
+        return url.toString();
+    }
+}
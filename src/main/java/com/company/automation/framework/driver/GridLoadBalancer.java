@@ -0,0 +1,165 @@
+package com.company.automation.framework.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads new RemoteWebDriver sessions across one or more Selenium Grid endpoints.
+ *
+ * Each request goes to the endpoint with the most free slots for the requested browser, based on
+ * the Grid's /status response (cached briefly) minus sessions this JVM is still creating there.
+ * If every endpoint is saturated the request waits, with backoff, until a slot frees up or the
+ * queue timeout expires. All sessions to the same endpoint share one HTTP client and connection pool.
+ */
+public final class GridLoadBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(GridLoadBalancer.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 2000;
+
+    private final List<GridEndpoint> endpoints;
+    private final Duration queueTimeout;
+    private final long statusMaxAgeNanos;
+    private final HttpClient statusClient;
+    private final SharedHttpClientFactory sessionClients = new SharedHttpClientFactory();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public GridLoadBalancer(List<URL> urls, Duration queueTimeout, Duration statusMaxAge) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one grid URL is required");
+        }
+        List<GridEndpoint> list = new ArrayList<>();
+        for (URL url : urls) {
+            list.add(new GridEndpoint(url));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.queueTimeout = queueTimeout;
+        this.statusMaxAgeNanos = statusMaxAge.toNanos();
+        this.statusClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Create a session on the least-loaded endpoint, waiting for capacity if all are saturated.
+     */
+    public WebDriver createSession(Capabilities capabilities) {
+        String browserName = capabilities.getBrowserName();
+        GridEndpoint endpoint = reserveEndpoint(browserName);
+        try {
+            ClientConfig config = ClientConfig.defaultConfig().baseUrl(endpoint.getUrl());
+            HttpCommandExecutor executor =
+                    new HttpCommandExecutor(Collections.emptyMap(), config, sessionClients);
+            WebDriver driver = new RemoteWebDriver(executor, capabilities);
+            log.info("[Grid] Created {} session on {}", browserName, endpoint);
+            return driver;
+        } finally {
+            endpoint.pending().decrementAndGet();
+            // The slot we just took (or failed to take) makes the cached status outdated.
+            endpoint.invalidate();
+        }
+    }
+
+    /**
+     * Pick the endpoint with the most free slots and count a pending session on it, queueing while all are full.
+     */
+    GridEndpoint reserveEndpoint(String browserName) {
+        long deadline = System.nanoTime() + queueTimeout.toNanos();
+        long backoffMillis = 100;
+        boolean queued = false;
+
+        while (true) {
+            GridEndpoint best = null;
+            int bestFree = 0;
+            for (GridEndpoint endpoint : endpoints) {
+                refreshIfStale(endpoint);
+                int free = endpoint.freeSlots(browserName);
+                if (free > bestFree) {
+                    best = endpoint;
+                    bestFree = free;
+                }
+            }
+
+            if (best != null) {
+                // Claim the slot before releasing the choice to other workers.
+                synchronized (best) {
+                    if (best.freeSlots(browserName) > 0) {
+                        best.pending().incrementAndGet();
+                        if (queued) {
+                            log.info("[Grid] Slot freed up on {}, leaving the queue", best);
+                        }
+                        return best;
+                    }
+                }
+                continue;
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new SessionNotCreatedException("No free " + browserName + " slot on any grid endpoint "
+                        + endpoints + " within " + queueTimeout.getSeconds() + "s");
+            }
+            if (!queued) {
+                log.info("[Grid] All endpoints saturated for {}, queueing (timeout {}s)",
+                        browserName, queueTimeout.getSeconds());
+                queued = true;
+            }
+            sleep(Math.min(backoffMillis, remainingMillis));
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            for (GridEndpoint endpoint : endpoints) {
+                endpoint.invalidate();
+            }
+        }
+    }
+
+    private void refreshIfStale(GridEndpoint endpoint) {
+        if (!endpoint.isStale(statusMaxAgeNanos)) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.getStatusUrl()))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = statusClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            endpoint.update(mapper.readTree(response.body()));
+        } catch (IOException e) {
+            log.info("[Grid] Status check failed for {}: {}", endpoint, e.getMessage());
+            endpoint.update(mapper.missingNode());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while checking grid status", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while queued for a grid slot", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.automation.framework.driver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss/eviction counters and checkout latency for a {@link DriverPool}.
+ * All counters are lock-free so recording never contends between worker threads.
+ */
+public final class PoolMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder checkoutNanos = new LongAdder();
+    private final LongAccumulator maxCheckoutNanos = new LongAccumulator(Math::max, 0L);
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordCheckout(long nanos) {
+        checkouts.increment();
+        checkoutNanos.add(nanos);
+        maxCheckoutNanos.accumulate(nanos);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getCheckouts() {
+        return checkouts.sum();
+    }
+
+    public double getAverageCheckoutMillis() {
+        long count = checkouts.sum();
+        return count == 0 ? 0.0 : checkoutNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxCheckoutMillis() {
+        return maxCheckoutNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getHitRatio() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0.0 : hits.sum() / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, checkouts=%d, "
+                        + "avgCheckout=%.1fms, maxCheckout=%.1fms",
+                getHits(), getMisses(), getHitRatio(), getEvictions(), getCheckouts(),
+                getAverageCheckoutMillis(), getMaxCheckoutMillis());
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.automation.framework.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A WebDriver session owned by a {@link DriverPool}, plus its reuse bookkeeping.
+ */
+final class PooledSession {
+
+    private final WebDriver driver;
+    private final DriverPool owner;
+    private int leases;
+
+    PooledSession(WebDriver driver, DriverPool owner) {
+        this.driver = driver;
+        this.owner = owner;
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    DriverPool getOwner() {
+        return owner;
+    }
+
+    /**
+     * Only the thread currently holding the lease touches this counter,
+     * and hand-over between threads goes through the pool's blocking deque.
+     */
+    int markLeased() {
+        return ++leases;
+    }
+
+    int getLeases() {
+        return leases;
+    }
+}
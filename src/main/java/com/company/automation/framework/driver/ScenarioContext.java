@@ -0,0 +1,92 @@
+package com.company.automation.framework.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Everything one scenario holds in the driver layer: its WebDriver, the pooled lease behind it and whether
+ * it hit an environmental failure ({@link EnvironmentCircuitBreaker}).
+ *
+ * The context is bound to the thread that runs the scenario ({@link #open}, usually from a Cucumber @Before
+ * hook) and unbound when the scenario ends ({@link #close}), so a reused worker thread never sees the previous
+ * scenario's session.
+ */
+public final class ScenarioContext {
+
+    private static final ThreadLocal<ScenarioContext> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private volatile WebDriver driver;
+    private volatile PooledSession lease;
+    private volatile String environmentFailure;
+
+    private ScenarioContext(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start a new context for a scenario and bind it to the current thread, replacing any earlier one.
+     */
+    public static ScenarioContext open(String name) {
+        ScenarioContext context = new ScenarioContext(name);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * The context bound to the current thread, or null.
+     */
+    public static ScenarioContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Unbind the current thread's context. Its driver must already have been released.
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The current context, or an unnamed one bound on the spot for code that uses DriverManager
+     * without scenario hooks (benchmarks, ad-hoc mains).
+     */
+    static ScenarioContext currentOrOpen() {
+        ScenarioContext context = CURRENT.get();
+        return context != null ? context : open("unnamed");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    PooledSession getLease() {
+        return lease;
+    }
+
+    void attach(WebDriver driver, PooledSession lease) {
+        this.driver = driver;
+        this.lease = lease;
+    }
+
+    /**
+     * First environmental failure of this scenario, or null.
+     */
+    String getEnvironmentFailure() {
+        return environmentFailure;
+    }
+
+    void markEnvironmentFailure(String description) {
+        if (environmentFailure == null) {
+            environmentFailure = description;
+        }
+    }
+
+    void detach() {
+        this.driver = null;
+        this.lease = null;
+    }
+}
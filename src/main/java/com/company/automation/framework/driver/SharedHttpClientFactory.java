@@ -0,0 +1,59 @@
+package com.company.automation.framework.driver;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HttpClient.Factory that hands out one shared client (and so one connection pool) per grid endpoint.
+ *
+ * Selenium creates a new client per RemoteWebDriver and closes it on quit(), which throws away the
+ * keep-alive connections every scenario. Here quit() only closes a thin view; the underlying client
+ * lives for the whole JVM.
+ */
+final class SharedHttpClientFactory implements HttpClient.Factory {
+
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<URI, HttpClient> clients = new ConcurrentHashMap<>();
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        HttpClient shared = clients.computeIfAbsent(config.baseUri(), uri -> delegate.createClient(config));
+        return new NonClosingClient(shared);
+    }
+
+    @Override
+    public void cleanupIdleClients() {
+        delegate.cleanupIdleClients();
+    }
+
+    private static final class NonClosingClient implements HttpClient {
+
+        private final HttpClient shared;
+
+        NonClosingClient(HttpClient shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return shared.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return shared.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The shared client outlives individual sessions.
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.automation.framework.metrics;
+
+import com.company.automation.framework.core.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Times every WebDriver and WebElement command (get, findElement, click, getText, executeScript, ...)
+ * into the "webdriver_command" histogram, labelled with the command, the calling page class and the locator.
+ *
+ * The page is the nearest {@link BasePage} subclass on the caller's stack ("-" for calls from hooks or
+ * step definitions). Element commands are attributed to the locator the element was found with, which is
+ * remembered (weakly) when findElement/findElements returns or registered via {@link #attribute}.
+ *
+ * Installed by DriverFactory through an EventFiringDecorator; disable with metrics.webdriver.enabled=false.
+ */
+public final class CommandTimingListener implements WebDriverListener {
+
+    public static final String COMMAND_METRIC = "webdriver_command";
+
+    private static final StackWalker STACK = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String NONE = "-";
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<WebElement, String> ELEMENT_LOCATORS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Attribute commands on an element to a locator when it was not found through findElement,
+     * e.g. elements returned by the WaitEngine's readiness script.
+     */
+    public static void attribute(WebElement element, By locator) {
+        WebElement original = element;
+        while (original instanceof WrapsElement) {
+            original = ((WrapsElement) original).getWrappedElement();
+        }
+        ELEMENT_LOCATORS.put(original, locator.toString());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, args);
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        ELEMENT_LOCATORS.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        for (WebElement element : result) {
+            ELEMENT_LOCATORS.put(element, locator.toString());
+        }
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        ELEMENT_LOCATORS.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        for (WebElement child : result) {
+            ELEMENT_LOCATORS.put(child, locator.toString());
+        }
+    }
+
+    private void record(Object target, Method method, Object[] args) {
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        MetricsRegistry.histogram(COMMAND_METRIC,
+                "command", method.getName(),
+                "page", callingPage(),
+                "locator", locatorOf(target, args)).recordNanos(elapsed);
+    }
+
+    private String locatorOf(Object target, Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            return args[0].toString();
+        }
+        if (target instanceof WebElement) {
+            String locator = ELEMENT_LOCATORS.get(target);
+            return locator != null ? locator : NONE;
+        }
+        return NONE;
+    }
+
+    private static String callingPage() {
+        Optional<Class<?>> page = STACK.walk(frames -> frames
+                .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type != BasePage.class && BasePage.class.isAssignableFrom(type))
+                .findFirst());
+        return page.map(Class::getSimpleName).orElse(NONE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.automation.framework.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metric name plus label pairs, e.g. ("ui_wait", "locator", "By.id: login-button").
+ */
+public final class MetricKey {
+
+    private final String name;
+    private final String[] labels;
+    private final int hash;
+
+    MetricKey(String name, String... labelPairs) {
+        if (labelPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + Arrays.toString(labelPairs));
+        }
+        this.name = name;
+        this.labels = labelPairs;
+        this.hash = 31 * name.hashCode() + Arrays.hashCode(labelPairs);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getLabels() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            map.put(labels[i], labels[i + 1]);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MetricKey)) {
+            return false;
+        }
+        MetricKey other = (MetricKey) o;
+        return name.equals(other.name) && Arrays.equals(labels, other.labels);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name + getLabels();
+    }
+}
@@ -0,0 +1,165 @@
+package com.company.automation.framework.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of latency histograms and event counters shared by all workers.
+ *
+ * Exported at the end of the run as JSON (summaries, slowest first) and Prometheus text format (full buckets).
+ */
+public final class MetricsRegistry {
+
+    private static final Map<MetricKey, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<MetricKey, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // utility class
+    }
+
+    /**
+     * The histogram for a metric name and label pairs, created on first use.
+     */
+    public static LatencyHistogram histogram(String name, String... labelPairs) {
+        MetricKey key = new MetricKey(name, labelPairs);
+        LatencyHistogram histogram = HISTOGRAMS.get(key);
+        return histogram != null ? histogram : HISTOGRAMS.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    public static Map<MetricKey, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(HISTOGRAMS);
+    }
+
+    /**
+     * The counter for a metric name and label pairs, created on first use.
+     */
+    public static LongAdder counter(String name, String... labelPairs) {
+        MetricKey key = new MetricKey(name, labelPairs);
+        LongAdder counter = COUNTERS.get(key);
+        return counter != null ? counter : COUNTERS.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    public static Map<MetricKey, LongAdder> counters() {
+        return Collections.unmodifiableMap(COUNTERS);
+    }
+
+    /**
+     * Write every histogram as JSON, slowest total time first within each metric name, then every
+     * counter, highest count first.
+     */
+    public static void writeJson(Path file) throws IOException {
+        List<Map.Entry<MetricKey, LatencyHistogram>> entries = new ArrayList<>(HISTOGRAMS.entrySet());
+        entries.sort(Comparator.<Map.Entry<MetricKey, LatencyHistogram>, String>comparing(e -> e.getKey().getName())
+                .thenComparing(e -> -e.getValue().getSumMicros()));
+
+        Map<String, List<Map<String, Object>>> byName = new LinkedHashMap<>();
+        for (Map.Entry<MetricKey, LatencyHistogram> entry : entries) {
+            Map<String, Object> row = new LinkedHashMap<>(entry.getKey().getLabels());
+            row.putAll(entry.getValue().summary());
+            byName.computeIfAbsent(entry.getKey().getName(), name -> new ArrayList<>()).add(row);
+        }
+
+        List<Map.Entry<MetricKey, LongAdder>> counters = new ArrayList<>(COUNTERS.entrySet());
+        counters.sort(Comparator.<Map.Entry<MetricKey, LongAdder>, String>comparing(e -> e.getKey().getName())
+                .thenComparing(e -> -e.getValue().sum()));
+        for (Map.Entry<MetricKey, LongAdder> entry : counters) {
+            Map<String, Object> row = new LinkedHashMap<>(entry.getKey().getLabels());
+            row.put("count", entry.getValue().sum());
+            byName.computeIfAbsent(entry.getKey().getName(), name -> new ArrayList<>()).add(row);
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), byName);
+    }
+
+    /**
+     * Write every histogram (values in seconds) and counter in Prometheus text exposition format, e.g. for
+     * a node_exporter textfile collector or a pushgateway upload in CI.
+     */
+    public static void writePrometheus(Path file) throws IOException {
+        Map<String, List<Map.Entry<MetricKey, LatencyHistogram>>> byName = new TreeMap<>();
+        for (Map.Entry<MetricKey, LatencyHistogram> entry : HISTOGRAMS.entrySet()) {
+            byName.computeIfAbsent(entry.getKey().getName(), name -> new ArrayList<>()).add(entry);
+        }
+
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, List<Map.Entry<MetricKey, LatencyHistogram>>> metric : byName.entrySet()) {
+            String name = metric.getKey() + "_seconds";
+            out.append("# TYPE ").append(name).append(" histogram\n");
+            for (Map.Entry<MetricKey, LatencyHistogram> entry : metric.getValue()) {
+                String labels = prometheusLabels(entry.getKey().getLabels());
+                LatencyHistogram histogram = entry.getValue();
+                long cumulative = 0;
+                for (Map.Entry<Long, Long> bucket : histogram.getBuckets().entrySet()) {
+                    cumulative += bucket.getValue();
+                    appendSample(out, name + "_bucket", labels, "le=\"" + seconds(bucket.getKey()) + "\"", cumulative);
+                }
+                appendSample(out, name + "_bucket", labels, "le=\"+Inf\"", histogram.getCount());
+                out.append(name).append("_sum").append(labels.isEmpty() ? "" : "{" + labels + "}")
+                        .append(' ').append(seconds(histogram.getSumMicros())).append('\n');
+                out.append(name).append("_count").append(labels.isEmpty() ? "" : "{" + labels + "}")
+                        .append(' ').append(histogram.getCount()).append('\n');
+            }
+        }
+
+        Map<String, List<Map.Entry<MetricKey, LongAdder>>> countersByName = new TreeMap<>();
+        for (Map.Entry<MetricKey, LongAdder> entry : COUNTERS.entrySet()) {
+            countersByName.computeIfAbsent(entry.getKey().getName(), name -> new ArrayList<>()).add(entry);
+        }
+        for (Map.Entry<String, List<Map.Entry<MetricKey, LongAdder>>> metric : countersByName.entrySet()) {
+            String name = metric.getKey() + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            for (Map.Entry<MetricKey, LongAdder> entry : metric.getValue()) {
+                String labels = prometheusLabels(entry.getKey().getLabels());
+                out.append(name).append(labels.isEmpty() ? "" : "{" + labels + "}")
+                        .append(' ').append(entry.getValue().sum()).append('\n');
+            }
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendSample(StringBuilder out, String name, String labels, String le, long value) {
+        out.append(name).append('{');
+        if (!labels.isEmpty()) {
+            out.append(labels).append(',');
+        }
+        out.append(le).append("} ").append(value).append('\n');
+    }
+
+    private static String prometheusLabels(Map<String, String> labels) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (out.length() > 0) {
+                out.append(',');
+            }
+            String value = label.getValue()
+                    .replace("\\", "\\\\")
+                    .replace("\"", "\\\"")
+                    .replace("\n", "\\n");
+            out.append(label.getKey()).append("=\"").append(value).append('"');
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long micros) {
+        return BigDecimal.valueOf(micros, 6).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.automation.framework.network;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Static assets (scripts, stylesheets, images, fonts) shared by all browser sessions through a directory
+ * on disk. Plugged into a session as a NetworkInterceptor filter: a fresh cached copy is answered from
+ * Java without the request leaving the machine, a miss goes to the network and a 200 response is stored
+ * for every later session (and later runs, until the ttl expires).
+ *
+ * Only the body and Content-Type are kept; the body DevTools hands over is already decoded, so replaying
+ * the original Content-Encoding would break it.
+ */
+final class AssetCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCache.class);
+
+    private static final Set<String> EXTENSIONS = Set.of(
+            "js", "mjs", "css", "png", "jpg", "jpeg", "gif", "svg", "webp", "ico", "woff", "woff2", "ttf", "otf");
+
+    private final Path dir;
+    private final Duration ttl;
+
+    AssetCache(Path dir, Duration ttl) {
+        this.dir = dir;
+        this.ttl = ttl;
+    }
+
+    Filter filter(TrafficMeter meter) {
+        return next -> request -> handle(request, next, meter);
+    }
+
+    private HttpResponse handle(HttpRequest request, HttpHandler next, TrafficMeter meter) {
+        if (request.getMethod() != HttpMethod.GET || !isStaticAsset(request.getUri())) {
+            return next.execute(request);
+        }
+        String key = sha256(request.getUri());
+        Path body = dir.resolve(key + ".body");
+        Path type = dir.resolve(key + ".type");
+        try {
+            if (isFresh(body) && Files.isRegularFile(type)) {
+                meter.recordCacheHit();
+                return new HttpResponse()
+                        .setStatus(200)
+                        .setHeader("Content-Type", Files.readString(type, StandardCharsets.UTF_8))
+                        .setContent(Contents.bytes(Files.readAllBytes(body)));
+            }
+        } catch (IOException e) {
+            log.debug("[Network] Asset cache read failed for {}: {}", request.getUri(), e.getMessage());
+        }
+
+        HttpResponse response = next.execute(request);
+        if (response.getStatus() == 200) {
+            byte[] bytes = Contents.bytes(response.getContent());
+            // The content supplier is single-use: hand the browser the copy we just read.
+            response.setContent(Contents.bytes(bytes));
+            String contentType = response.getHeader("Content-Type");
+            store(body, type, bytes, contentType == null ? "application/octet-stream" : contentType);
+        }
+        return response;
+    }
+
+    private boolean isFresh(Path body) throws IOException {
+        if (!Files.isRegularFile(body)) {
+            return false;
+        }
+        FileTime modified = Files.getLastModifiedTime(body);
+        return System.currentTimeMillis() - modified.toMillis() < ttl.toMillis();
+    }
+
+    /**
+     * Sessions in other threads (or shard JVMs) may store the same asset at once: write to a temp file
+     * and move it into place atomically, body last, so a reader never sees a half-written entry.
+     */
+    private void store(Path body, Path type, byte[] bytes, String contentType) {
+        try {
+            Files.createDirectories(dir);
+            Path tmpType = Files.createTempFile(dir, ".asset", ".tmp");
+            Files.writeString(tmpType, contentType, StandardCharsets.UTF_8);
+            Files.move(tmpType, type, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Path tmpBody = Files.createTempFile(dir, ".asset", ".tmp");
+            Files.write(tmpBody, bytes);
+            Files.move(tmpBody, body, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("[Network] Could not cache asset in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    static boolean isStaticAsset(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (path == null) {
+            return false;
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.automation.framework.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Emulated network link for a Chromium session: added round-trip latency and throughput caps.
+ * A throughput of 0 means unlimited.
+ */
+public final class NetworkConditions {
+
+    private final boolean offline;
+    private final long latencyMillis;
+    private final long downloadKbps;
+    private final long uploadKbps;
+
+    private NetworkConditions(boolean offline, long latencyMillis, long downloadKbps, long uploadKbps) {
+        this.offline = offline;
+        this.latencyMillis = latencyMillis;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+    }
+
+    public static NetworkConditions of(long latencyMillis, long downloadKbps, long uploadKbps) {
+        return new NetworkConditions(false, latencyMillis, downloadKbps, uploadKbps);
+    }
+
+    public static NetworkConditions offline() {
+        return new NetworkConditions(true, 0, 0, 0);
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public long getDownloadKbps() {
+        return downloadKbps;
+    }
+
+    public long getUploadKbps() {
+        return uploadKbps;
+    }
+
+    /**
+     * Parameters of Network.emulateNetworkConditions (throughput in bytes per second, -1 = unlimited).
+     */
+    Map<String, Object> toCdp() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("offline", offline);
+        params.put("latency", latencyMillis);
+        params.put("downloadThroughput", downloadKbps > 0 ? downloadKbps * 1024 / 8 : -1);
+        params.put("uploadThroughput", uploadKbps > 0 ? uploadKbps * 1024 / 8 : -1);
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return offline ? "offline"
+                : "latency=" + latencyMillis + "ms, down=" + (downloadKbps > 0 ? downloadKbps + "kbps" : "unlimited")
+                + ", up=" + (uploadKbps > 0 ? uploadKbps + "kbps" : "unlimited");
+    }
+}
@@ -0,0 +1,207 @@
+package com.company.automation.framework.network;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.driver.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Network rules applied to every new Chromium session through the Chrome DevTools Protocol, configured
+ * per environment:
+ *  - network.block.urls: comma-separated URL patterns ('*' wildcard) that are never requested,
+ *    e.g. analytics and tracking hosts
+ *  - network.block.types: resource types to drop by file extension: image, font, media, stylesheet
+ *  - network.cache.enabled / network.cache.dir / network.cache.ttl.minutes: serve static assets from an
+ *    on-disk cache shared by all sessions (see {@link AssetCache}); every request then passes through a
+ *    DevTools interceptor, so only enable it where assets are a real share of the traffic
+ *  - network.emulate.latency.millis / network.emulate.download.kbps / network.emulate.upload.kbps:
+ *    emulated link, also switchable per scenario with {@link #emulate(WebDriver, NetworkConditions)}
+ *  - network.traffic.metrics.enabled: count bytes and requests per session ({@link #meter(WebDriver)})
+ *
+ * Blocking and emulation are plain executeCdpCommand calls; the traffic meter and the asset cache need a
+ * DevTools connection. Non-Chromium and remote sessions are left alone.
+ */
+public final class NetworkPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkPolicy.class);
+
+    private static final Map<String, List<String>> TYPE_EXTENSIONS = Map.of(
+            "image", List.of("png", "jpg", "jpeg", "gif", "webp", "svg", "ico"),
+            "font", List.of("woff", "woff2", "ttf", "otf", "eot"),
+            "media", List.of("mp4", "webm", "mp3", "ogg", "wav"),
+            "stylesheet", List.of("css"));
+
+    private static final Map<WebDriver, TrafficMeter> METERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile NetworkPolicy shared;
+
+    private final List<String> blockedUrls;
+    private final AssetCache assetCache;
+    private final NetworkConditions conditions;
+    private final boolean trafficMetrics;
+
+    private NetworkPolicy(List<String> blockedUrls, AssetCache assetCache, NetworkConditions conditions,
+                          boolean trafficMetrics) {
+        this.blockedUrls = Collections.unmodifiableList(blockedUrls);
+        this.assetCache = assetCache;
+        this.conditions = conditions;
+        this.trafficMetrics = trafficMetrics;
+    }
+
+    /**
+     * The policy built from the current configuration, created on first use.
+     */
+    public static NetworkPolicy shared() {
+        NetworkPolicy policy = shared;
+        if (policy == null) {
+            synchronized (NetworkPolicy.class) {
+                policy = shared;
+                if (policy == null) {
+                    policy = fromConfig();
+                    shared = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    static NetworkPolicy fromConfig() {
+        List<String> blocked = new ArrayList<>(split(ConfigurationManager.get("network.block.urls", "")));
+        for (String type : split(ConfigurationManager.get("network.block.types", ""))) {
+            List<String> extensions = TYPE_EXTENSIONS.get(type.toLowerCase(Locale.ROOT));
+            if (extensions == null) {
+                throw new IllegalArgumentException("network.block.types: unknown type '" + type
+                        + "', expected one of " + TYPE_EXTENSIONS.keySet());
+            }
+            for (String extension : extensions) {
+                blocked.add("*." + extension);
+                blocked.add("*." + extension + "?*");
+            }
+        }
+
+        AssetCache cache = ConfigurationManager.getBoolean("network.cache.enabled", false)
+                ? new AssetCache(Paths.get(ConfigurationManager.get("network.cache.dir", ".asset-cache")),
+                Duration.ofMinutes(ConfigurationManager.getInt("network.cache.ttl.minutes", 60)))
+                : null;
+
+        long latency = ConfigurationManager.getInt("network.emulate.latency.millis", 0);
+        long download = ConfigurationManager.getInt("network.emulate.download.kbps", 0);
+        long upload = ConfigurationManager.getInt("network.emulate.upload.kbps", 0);
+        NetworkConditions conditions = latency > 0 || download > 0 || upload > 0
+                ? NetworkConditions.of(latency, download, upload)
+                : null;
+
+        return new NetworkPolicy(blocked, cache, conditions,
+                ConfigurationManager.getBoolean("network.traffic.metrics.enabled", true));
+    }
+
+    /**
+     * Apply the policy to a freshly created session. Failures are logged, never fatal: a session
+     * without the policy is slower, not wrong.
+     */
+    public void apply(WebDriver driver) {
+        WebDriver raw = DriverFactory.unwrap(driver);
+        if (!(raw instanceof ChromiumDriver)) {
+            return;
+        }
+        ChromiumDriver chromium = (ChromiumDriver) raw;
+        try {
+            if (!blockedUrls.isEmpty()) {
+                chromium.executeCdpCommand("Network.enable", Collections.emptyMap());
+                chromium.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+            }
+            if (conditions != null) {
+                emulate(driver, conditions);
+            }
+        } catch (WebDriverException e) {
+            log.warn("[Network] Could not apply block list/emulation: {}", e.getMessage());
+        }
+
+        if (!trafficMetrics && assetCache == null) {
+            return;
+        }
+        TrafficMeter meter = new TrafficMeter();
+        try {
+            DevTools devTools = chromium.getDevTools();
+            // Attach to this session's own tab (several may share the browser, see driver.isolation)
+            devTools.createSessionIfThereIsNotOne(chromium.getWindowHandle());
+            if (trafficMetrics) {
+                devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+                devTools.addListener(new Event<>("Network.loadingFinished", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                        event -> meter.recordFinished(((Number) event.getOrDefault("encodedDataLength", 0)).longValue()));
+                devTools.addListener(new Event<>("Network.loadingFailed", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                        event -> {
+                            if (event.get("blockedReason") != null) {
+                                meter.recordBlocked();
+                            }
+                        });
+                METERS.put(raw, meter);
+            }
+            if (assetCache != null) {
+                // Lives as long as the session: closed with the DevTools connection when the driver quits.
+                new NetworkInterceptor(chromium, assetCache.filter(meter));
+            }
+        } catch (WebDriverException e) {
+            log.warn("[Network] DevTools unavailable, no traffic metrics or asset cache for this session: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Emulate a network link on this session until {@link #clearEmulation(WebDriver)}.
+     */
+    public static void emulate(WebDriver driver, NetworkConditions conditions) {
+        ChromiumDriver chromium = chromium(driver);
+        chromium.executeCdpCommand("Network.enable", Collections.emptyMap());
+        chromium.executeCdpCommand("Network.emulateNetworkConditions", conditions.toCdp());
+        log.info("[Network] Emulating {}", conditions);
+    }
+
+    public static void clearEmulation(WebDriver driver) {
+        chromium(driver).executeCdpCommand("Network.emulateNetworkConditions",
+                NetworkConditions.of(0, 0, 0).toCdp());
+    }
+
+    /**
+     * Traffic counters of the session, or null when it is not metered (non-Chromium, metrics disabled).
+     */
+    public static TrafficMeter meter(WebDriver driver) {
+        return METERS.get(DriverFactory.unwrap(driver));
+    }
+
+    private static ChromiumDriver chromium(WebDriver driver) {
+        WebDriver raw = DriverFactory.unwrap(driver);
+        if (!(raw instanceof ChromiumDriver)) {
+            throw new UnsupportedOperationException("Network emulation needs a Chromium session, got "
+                    + raw.getClass().getSimpleName());
+        }
+        return (ChromiumDriver) raw;
+    }
+
+    private static List<String> split(String commaSeparated) {
+        List<String> values = new ArrayList<>();
+        for (String part : commaSeparated.split(",")) {
+            if (!part.trim().isEmpty()) {
+                values.add(part.trim());
+            }
+        }
+        return values;
+    }
+}
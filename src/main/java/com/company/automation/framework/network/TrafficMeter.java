@@ -0,0 +1,81 @@
+package com.company.automation.framework.network;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Network traffic of one browser session since the last {@link #reset()}, fed by DevTools events:
+ * bytes actually received over the wire, finished requests, requests blocked by the policy and
+ * static assets served from the on-disk cache. Run-wide totals are kept as well.
+ */
+public final class TrafficMeter {
+
+    private static final LongAdder RUN_BYTES = new LongAdder();
+    private static final LongAdder RUN_REQUESTS = new LongAdder();
+    private static final LongAdder RUN_BLOCKED = new LongAdder();
+    private static final LongAdder RUN_CACHE_HITS = new LongAdder();
+
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    void recordFinished(long encodedBytes) {
+        bytes.add(encodedBytes);
+        requests.increment();
+        RUN_BYTES.add(encodedBytes);
+        RUN_REQUESTS.increment();
+    }
+
+    void recordBlocked() {
+        blocked.increment();
+        RUN_BLOCKED.increment();
+    }
+
+    void recordCacheHit() {
+        cacheHits.increment();
+        RUN_CACHE_HITS.increment();
+    }
+
+    /**
+     * Start counting from zero, e.g. when a pooled session is leased for a new scenario.
+     */
+    public void reset() {
+        bytes.reset();
+        requests.reset();
+        blocked.reset();
+        cacheHits.reset();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public String summary() {
+        return format(getBytes(), getRequests(), getBlocked(), getCacheHits());
+    }
+
+    /**
+     * Totals of every session in this JVM.
+     */
+    public static String runSummary() {
+        return format(RUN_BYTES.sum(), RUN_REQUESTS.sum(), RUN_BLOCKED.sum(), RUN_CACHE_HITS.sum());
+    }
+
+    private static String format(long bytes, long requests, long blocked, long cacheHits) {
+        return String.format(Locale.ROOT, "%.1f KB in %d request(s), %d blocked, %d served from asset cache",
+                bytes / 1024.0, requests, blocked, cacheHits);
+    }
+}
@@ -1,12 +1,15 @@
 package com.company.automation.framework.pages;
 
 import com.company.automation.framework.core.BasePage;
+import com.company.automation.framework.core.Locators;
+import com.company.automation.framework.core.ElementRow;
+import com.company.automation.framework.utils.Prices;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for the Swag Labs cart page.
@@ -15,26 +18,36 @@ public class CartPage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(CartPage.class);
 
-    // Cart title ("Your Cart")
-    private final By cartTitle = By.cssSelector("span.title");
+    static final String PATH = "/cart.html";
+    private static final String CHECKOUT_STEP_ONE_PATH = "/checkout-step-one.html";
+
+    // Cart title ("Your Cart") and the list holding the items
+    private static final By CART_TITLE = Locators.css("span.title");
+    private static final By CART_LIST = Locators.css(".cart_list");
 
     // Cart items
-    private final By cartItem = By.cssSelector(".cart_item");
-    private final By itemName = By.cssSelector(".inventory_item_name");
-    private final By itemPrice = By.cssSelector(".inventory_item_price");
+    private static final By CART_ITEM = Locators.css(".cart_item");
+    private static final Map<String, String> ITEM_FIELDS = Map.of(
+            "name", ".inventory_item_name",
+            "price", ".inventory_item_price",
+            "quantity", ".cart_quantity");
 
     // Checkout button
-    private final By checkoutButton = By.id("checkout");
+    private static final By CHECKOUT_BUTTON = Locators.id("checkout");
+
+    public CartPage() {
+        enableSnapshotCache();
+    }
 
     /**
-     * Ensure we are on the cart page by waiting until the title text is "Your Cart".
+     * Ensure we are on the cart page: its URL is loaded, the DOM is ready and the cart has rendered
+     * (title "Your Cart" and the item list visible), so the rows can be read right away.
      */
     public void ensureOnCartPage() {
-        // Wait until the span.title text changes to "Your Cart"
-        wait.until(ExpectedConditions.textToBe(cartTitle, "Your Cart"));
-
-        WebElement titleElement = driver.findElement(cartTitle);
-        log.info("[CartPage] Title: " + titleElement.getText());
+        awaitPage(PATH);
+        waitUntil(ExpectedConditions.textToBe(CART_TITLE, "Your Cart"));
+        waitVisible(CART_LIST);
+        log.info("[CartPage] On cart page.");
     }
 
     /**
@@ -43,20 +56,18 @@ public class CartPage extends BasePage {
     public boolean isProductInCart(String productName) {
         String normalized = productName.trim();
 
-        ensureOnCartPage();
-
-        List<WebElement> items = driver.findElements(cartItem);
-        log.info("[CartPage] Number of cart items: " + items.size());
+        List<ElementRow> items = readCartItems();
+        log.info("[CartPage] Number of cart items: {}", items.size());
 
-        for (WebElement item : items) {
-            String name = item.findElement(itemName).getText().trim();
-            log.info("[CartPage] Cart item name: '" + name + "'");
-            if (name.equalsIgnoreCase(normalized)) {
-                log.info("[CartPage] Matched cart item: '" + normalized + "'");
+        for (ElementRow item : items) {
+            String name = item.get("name");
+            log.debug("[CartPage] Cart item name: '{}'", name);
+            if (name != null && name.equalsIgnoreCase(normalized)) {
+                log.info("[CartPage] Matched cart item: '{}'", normalized);
                 return true;
             }
         }
-        log.info("[CartPage] Product NOT found in cart: '" + normalized + "'");
+        log.info("[CartPage] Product NOT found in cart: '{}'", normalized);
         return false;
     }
 
@@ -66,35 +77,39 @@ public class CartPage extends BasePage {
     public double getProductPriceInCart(String productName) {
         String normalized = productName.trim();
 
-        ensureOnCartPage();
-
-        List<WebElement> items = driver.findElements(cartItem);
-        for (WebElement item : items) {
-            String name = item.findElement(itemName).getText().trim();
-            if (name.equalsIgnoreCase(normalized)) {
-                String priceText = item.findElement(itemPrice).getText().trim(); // e.g. "$29.99"
-                if (priceText.startsWith("$")) {
-                    priceText = priceText.substring(1);
-                }
-                double price = Double.parseDouble(priceText);
-                log.info("[CartPage] Price for '" + normalized + "' in cart: " + price);
+        for (ElementRow item : readCartItems()) {
+            String name = item.get("name");
+            if (name != null && name.equalsIgnoreCase(normalized)) {
+                double price = Prices.parse(item.get("price")); // e.g. "$29.99"
+                log.info("[CartPage] Price for '{}' in cart: {}", normalized, price);
                 return price;
             }
         }
         throw new IllegalArgumentException("Product '" + normalized + "' not found in cart.");
     }
 
+    /**
+     * All cart items (name, price, quantity, data-test ids), read in one browser call.
+     *
+     * Repeated calls (e.g. isProductInCart for each selected product) are served from the page
+     * snapshot and skip ensureOnCartPage() while the cart has not changed.
+     */
+    public List<ElementRow> readCartItems() {
+        List<ElementRow> cached = cachedRows(CART_ITEM, ITEM_FIELDS);
+        if (cached != null) {
+            return cached;
+        }
+        ensureOnCartPage();
+        return readRows(CART_ITEM, ITEM_FIELDS);
+    }
+
     /**
      * Click the Checkout button.
      */
     public void clickCheckout() {
         ensureOnCartPage();  // makes sure we are really on Your Cart
 
-        click(checkoutButton);  // now uses elementToBeClickable
-
-        // The same span.title element is used on the checkout page.
-        // Its text becomes "Checkout: Your Information".
-        wait.until(ExpectedConditions.textToBe(cartTitle, "Checkout: Your Information"));
+        clickAndAwaitPage(CHECKOUT_BUTTON, CHECKOUT_STEP_ONE_PATH);
         log.info("[CartPage] Navigated to Checkout: Your Information.");
     }
 }
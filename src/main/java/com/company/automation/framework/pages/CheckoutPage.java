@@ -1,6 +1,8 @@
 package com.company.automation.framework.pages;
 
 import com.company.automation.framework.core.BasePage;
+import com.company.automation.framework.core.Locators;
+import com.company.automation.framework.utils.Prices;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.slf4j.Logger;
@@ -11,27 +13,34 @@ import org.slf4j.LoggerFactory;
  */
 public class CheckoutPage extends BasePage {
     private static final Logger log = LoggerFactory.getLogger(CheckoutPage.class);
+
+    private static final String STEP_TWO_PATH = "/checkout-step-two.html";
+    private static final String COMPLETE_PATH = "/checkout-complete.html";
+
     // Step One: Your Information
-    private final By firstNameInput = By.id("first-name");
-    private final By lastNameInput = By.id("last-name");
-    private final By postalCodeInput = By.id("postal-code");
-    private final By continueButton = By.id("continue");
+    private static final By FIRST_NAME_INPUT = Locators.id("first-name");
+    private static final By LAST_NAME_INPUT = Locators.id("last-name");
+    private static final By POSTAL_CODE_INPUT = Locators.id("postal-code");
+    private static final By CONTINUE_BUTTON = Locators.id("continue");
 
     // Step Two: Overview
-    private final By itemTotalLabel = By.cssSelector(".summary_subtotal_label"); // e.g. "Item total: $39.98"
-    private final By finishButton = By.id("finish");
+    private static final By ITEM_TOTAL_LABEL = Locators.css(".summary_subtotal_label"); // e.g. "Item total: $39.98"
+    private static final By FINISH_BUTTON = Locators.id("finish");
 
     // Complete
-    private final By successHeader = By.cssSelector("h2.complete-header"); // "Thank you for your order!"
+    private static final By SUCCESS_HEADER = Locators.css("h2.complete-header"); // "Thank you for your order!"
 
     /**
-     * Fill checkout information (Step One) and continue to overview.
+     * Fill checkout information (Step One) and continue to overview, in one browser round-trip
+     * when the form is already rendered.
      */
     public void fillCheckoutInformation(String firstName, String lastName, String postalCode) {
-        type(firstNameInput, firstName);
-        type(lastNameInput, lastName);
-        type(postalCodeInput, postalCode);
-        click(continueButton);
+        batch().type(FIRST_NAME_INPUT, firstName)
+                .type(LAST_NAME_INPUT, lastName)
+                .type(POSTAL_CODE_INPUT, postalCode)
+                .click(CONTINUE_BUTTON)
+                .execute();
+        awaitPage(STEP_TWO_PATH);
     }
 
     /**
@@ -40,26 +49,22 @@ public class CheckoutPage extends BasePage {
      * E.g. label text: "Item total: $39.98"
      */
     public double getItemTotal() {
-        String label = getText(itemTotalLabel).trim();
-        log.info("[CheckoutPage] Item total label: " + label);
+        String label = getText(ITEM_TOTAL_LABEL).trim();
+        log.info("[CheckoutPage] Item total label: {}", label);
 
         // Extract the number after the colon
         String[] parts = label.split(":");
         if (parts.length < 2) {
             throw new IllegalStateException("Unexpected item total label format: " + label);
         }
-        String priceText = parts[1].trim(); // "$39.98"
-        if (priceText.startsWith("$")) {
-            priceText = priceText.substring(1);
-        }
-        return Double.parseDouble(priceText);
+        return Prices.parse(parts[1]); // "$39.98"
     }
 
     /**
      * Click Finish to complete the order.
      */
     public void clickFinish() {
-        click(finishButton);
+        clickAndAwaitPage(FINISH_BUTTON, COMPLETE_PATH);
     }
 
     /**
@@ -67,8 +72,8 @@ public class CheckoutPage extends BasePage {
      */
     public boolean isOrderSuccessMessageDisplayed() {
         try {
-            String text = getText(successHeader).trim();
-            log.info("[CheckoutPage] Success header: " + text);
+            String text = getText(SUCCESS_HEADER).trim();
+            log.info("[CheckoutPage] Success header: {}", text);
             return text.equalsIgnoreCase("Thank you for your order!");
         } catch (TimeoutException e) {
             return false;
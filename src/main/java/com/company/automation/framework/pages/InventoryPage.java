@@ -1,17 +1,21 @@
 package com.company.automation.framework.pages;
 
 import com.company.automation.framework.core.BasePage;
+import com.company.automation.framework.core.LocatorTemplate;
+import com.company.automation.framework.core.Locators;
+import com.company.automation.framework.core.ElementRow;
 import com.company.automation.framework.driver.DriverManager;
+import com.company.automation.framework.utils.Prices;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for Swag Labs inventory (products) page.
@@ -20,17 +24,39 @@ public class InventoryPage extends BasePage {
     private static final Logger log = LoggerFactory.getLogger(InventoryPage.class);
 
     // "Products" title at top-left
-    private final By productsTitle = By.cssSelector("span.title");
+    private static final By PRODUCTS_TITLE = Locators.css("span.title");
 
     // Sort dropdown
     // <select class="product_sort_container" ...>
-    private final By sortDropdown = By.cssSelector("select.product_sort_container");
+    private static final By SORT_DROPDOWN = Locators.css("select.product_sort_container");
 
     // Product name elements
-    private final By productNames = By.cssSelector(".inventory_item_name");
+    private static final By PRODUCT_NAMES = Locators.css(".inventory_item_name");
+
+    // Product cards and the fields read from each card by readProducts()
+    private static final By INVENTORY_ITEM = Locators.css(".inventory_item");
+    private static final Map<String, String> ITEM_FIELDS = Map.of(
+            "name", ".inventory_item_name",
+            "price", ".inventory_item_price");
 
     // Cart icon in header
-    private final By cartIcon = By.cssSelector("a.shopping_cart_link");
+    private static final By CART_ICON = Locators.css("a.shopping_cart_link");
+
+    // "Add to cart" button by Swag Labs' data-test convention, from the lower-case, hyphenated product name:
+    //  "Sauce Labs Backpack"   -> data-test="add-to-cart-sauce-labs-backpack"
+    //  "Sauce Labs Bike Light" -> data-test="add-to-cart-sauce-labs-bike-light"
+    private static final LocatorTemplate ADD_TO_CART_BUTTON = Locators.cssTemplate(
+            "button[data-test='add-to-cart-{}']", name -> Locators.cssString(Locators.slug(name)));
+
+    // Price element of the inventory_item card whose name matches exactly (text match, so XPath)
+    private static final LocatorTemplate PRICE_OF_PRODUCT = Locators.xpathTemplate(
+            "//*[contains(@class,'inventory_item_name') and normalize-space()={}]"
+                    + "/ancestor::div[contains(@class,'inventory_item')]"
+                    + "//div[contains(@class,'inventory_item_price')]", Locators::xpathLiteral);
+
+    public InventoryPage() {
+        enableSnapshotCache();
+    }
 
     /**
      * Ensure we are on the Products page.
@@ -38,13 +64,12 @@ public class InventoryPage extends BasePage {
     public void ensureOnProductsPage() {
         WebDriver driver = DriverManager.getDriver();
         try {
-            WebElement titleElement = waitVisible(productsTitle);
-            String titleText = titleElement.getText();
-            log.info("[InventoryPage] Products page title: " + titleText);
+            String titleText = getText(PRODUCTS_TITLE);
+            log.info("[InventoryPage] Products page title: {}", titleText);
         } catch (TimeoutException e) {
             log.info("[InventoryPage] Timeout waiting for products title.");
-            log.info("[InventoryPage] URL: " + driver.getCurrentUrl());
-            log.info("[InventoryPage] Title: " + driver.getTitle());
+            log.info("[InventoryPage] URL: {}", driver.getCurrentUrl());
+            log.info("[InventoryPage] Title: {}", driver.getTitle());
             throw e;
         }
     }
@@ -53,11 +78,11 @@ public class InventoryPage extends BasePage {
      * Sort products using the visible text in the sort dropdown.
      */
     public void sortByVisibleText(String visibleText) {
-        log.info("[InventoryPage] Sorting by: " + visibleText);
-        WebElement dropdownElement = waitVisible(sortDropdown);
+        log.info("[InventoryPage] Sorting by: {}", visibleText);
+        WebElement dropdownElement = waitVisible(SORT_DROPDOWN);
         Select select = new Select(dropdownElement);
         select.selectByVisibleText(visibleText);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(productNames));
+        waitVisible(PRODUCT_NAMES);
     }
 
     /**
@@ -69,24 +94,28 @@ public class InventoryPage extends BasePage {
      */
     public void addProductToCart(String productName) {
         String normalized = productName.trim();
+        By addButton = addToCartButton(normalized);
 
-        // Build the slug part used by Swag Labs in data-test/id.
-        // This is enough for all core products we're using:
-        // - lower-case
-        // - spaces -> hyphens
-        String slug = normalized.toLowerCase().replace(" ", "-");
-
-        String dataTest = "add-to-cart-" + slug;
-
-        By addButton = By.cssSelector("button[data-test='" + dataTest + "']");
-
-        log.info("[InventoryPage] Adding product to cart: '" + normalized + "'");
-        log.info("[InventoryPage] Using data-test: " + dataTest);
+        log.info("[InventoryPage] Adding product to cart: '{}'", normalized);
+        log.debug("[InventoryPage] Using locator: {}", addButton);
 
         click(addButton);
     }
 
+    /**
+     * Locator of a product's "Add to cart" button, built from the product name.
+     */
+    public static By addToCartButton(String productName) {
+        return ADD_TO_CART_BUTTON.with(productName);
+    }
 
+    /**
+     * Locator of a product's price element, found through the card that holds the product name.
+     */
+    public static By priceOfProduct(String productName) {
+        // Compared with normalize-space(), so surrounding whitespace in the name must not count
+        return PRICE_OF_PRODUCT.with(productName.trim());
+    }
 
     /**
      * Get the price of a product on the inventory page by its name.
@@ -96,19 +125,33 @@ public class InventoryPage extends BasePage {
     public double getProductPrice(String productName) {
         String normalized = productName.trim();
 
-        // Find the inventory_item card that has a child with class containing 'inventory_item_name'
-        // and matching normalized text, then locate its price element.
-        String xpath =
-                "//*[contains(@class,'inventory_item_name') and normalize-space()='" + normalized + "']" +
-                        "/ancestor::div[contains(@class,'inventory_item')]" +
-                        "//div[contains(@class,'inventory_item_price')]";
+        // A still-valid snapshot means the list is already rendered; otherwise wait for it first.
+        List<ElementRow> products = cachedRows(INVENTORY_ITEM, ITEM_FIELDS);
+        if (products == null) {
+            waitVisible(PRODUCT_NAMES);
+            products = readProducts();
+        }
+        for (ElementRow row : products) {
+            if (normalized.equals(row.get("name"))) {
+                log.info("[InventoryPage] Price text for '{}': {}", normalized, row.get("price"));
+                return Prices.parse(row.get("price"));
+            }
+        }
 
-        By priceLocator = By.xpath(xpath);
-        String priceText = getText(priceLocator).trim();   // e.g. "$29.99"
+        // Not rendered yet (or the name differs in whitespace): wait for it the slow way.
+        String priceText = getText(priceOfProduct(normalized)).trim();   // e.g. "$29.99"
 
-        log.info("[InventoryPage] Price text for '" + normalized + "': " + priceText);
+        log.info("[InventoryPage] Price text for '{}': {}", normalized, priceText);
 
-        return parsePrice(priceText);
+        return Prices.parse(priceText);
+    }
+
+    /**
+     * All product cards currently shown (name, price, data-test ids), read in one browser call
+     * or served from the page snapshot while nothing has changed.
+     */
+    public List<ElementRow> readProducts() {
+        return readRows(INVENTORY_ITEM, ITEM_FIELDS);
     }
 
 
@@ -118,47 +161,23 @@ public class InventoryPage extends BasePage {
      */
     public void goToCart() {
         log.info("[InventoryPage] Going to cart page.");
-
-        By titleLocator = By.cssSelector("span.title");
-
-        for (int attempt = 1; attempt <= 2; attempt++) {
-            click(cartIcon);  // uses elementToBeClickable now
-            try {
-                wait.until(ExpectedConditions.textToBe(titleLocator, "Your Cart"));
-                log.info("[InventoryPage] Cart page loaded (attempt " + attempt + ").");
-                return;
-            } catch (TimeoutException e) {
-                log.info("[InventoryPage] Cart navigation not complete on attempt "
-                        + attempt + " (title not 'Your Cart').");
-            }
-        }
-
-        throw new RuntimeException("Failed to navigate to Cart page after retries.");
+        clickAndAwaitPage(CART_ICON, CartPage.PATH);
+        log.info("[InventoryPage] Cart page loaded.");
     }
 
     /**
      * Check if a product with the given name is visible in the inventory list.
      */
     public boolean isProductVisible(String productName) {
-        List<WebElement> products = driver.findElements(productNames);
-        log.info("[InventoryPage] Number of products found: " + products.size());
-        for (WebElement p : products) {
-            String name = p.getText().trim();
-            log.info("[InventoryPage] Product name: " + name);
-            if (name.equalsIgnoreCase(productName.trim())) {
+        List<ElementRow> products = readProducts();
+        log.info("[InventoryPage] Number of products found: {}", products.size());
+        for (ElementRow p : products) {
+            String name = p.get("name");
+            log.debug("[InventoryPage] Product name: {}", name);
+            if (name != null && name.equalsIgnoreCase(productName.trim())) {
                 return true;
             }
         }
         return false;
     }
-
-    /**
-     * Utility to parse a price like "$29.99" into 29.99 (double).
-     */
-    private double parsePrice(String priceText) {
-        if (priceText.startsWith("$")) {
-            priceText = priceText.substring(1);
-        }
-        return Double.parseDouble(priceText);
-    }
 }
@@ -2,70 +2,132 @@ package com.company.automation.framework.pages;
 
 import com.company.automation.framework.config.ConfigurationManager;
 import com.company.automation.framework.core.BasePage;
+import com.company.automation.framework.core.Locators;
+import com.company.automation.framework.core.WaitEngine;
+import com.company.automation.framework.core.WaitEngine.Readiness;
 import com.company.automation.framework.driver.DriverManager;
+import com.company.automation.framework.driver.EnvironmentCircuitBreaker;
+import com.company.automation.framework.session.SessionCheckpoint;
+import com.company.automation.framework.session.SessionCheckpointStore;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 /**
  * Page Object for Swag Labs (https://www.saucedemo.com/) login page.
  */
 public class LoginPage extends BasePage {
     private static final Logger log = LoggerFactory.getLogger(LoginPage.class);
     // Swag Labs login locators
-    private final By usernameInput = By.id("user-name");          // or By.cssSelector("[data-test='username']")
-    private final By passwordInput = By.id("password");           // or By.cssSelector("[data-test='password']")
-    private final By loginButton   = By.id("login-button");       // or By.cssSelector("[data-test='login-button']")
-    private final By errorMessage  = By.cssSelector("h3[data-test='error']");
+    private static final By USERNAME_INPUT = Locators.id("user-name");      // or Locators.css("[data-test='username']")
+    private static final By PASSWORD_INPUT = Locators.id("password");       // or Locators.css("[data-test='password']")
+    private static final By LOGIN_BUTTON   = Locators.id("login-button");   // or Locators.css("[data-test='login-button']")
+    private static final By ERROR_MESSAGE  = Locators.css("h3[data-test='error']");
+
+    // Page shown after a successful login; a restored checkpoint goes straight there
+    private static final String LANDING_PATH = "/inventory.html";
 
     // Products page title element (visible after successful login)
-    private final By productsTitle = By.cssSelector("span.title");
+    private static final By PRODUCTS_TITLE = Locators.css("span.title");
 
     /**
      * Open Swag Labs login page and wait until username is visible.
      */
     public void open() {
-        String loginPath = ConfigurationManager.get("login.path");
+        String loginPath = ConfigurationManager.config().getLoginPath();
         super.open(loginPath);
 
         WebDriver driver = DriverManager.getDriver();
-        log.info("[LoginPage] Navigated to: " + driver.getCurrentUrl());
-        log.info("[LoginPage] Title: " + driver.getTitle());
+        log.info("[LoginPage] Navigated to: {}", driver.getCurrentUrl());
+        log.info("[LoginPage] Title: {}", driver.getTitle());
 
         try {
-            waitVisible(usernameInput);
+            waitVisible(USERNAME_INPUT);
         } catch (TimeoutException e) {
             log.info("[LoginPage] Timeout waiting for username input.");
-            log.info("[LoginPage] Final URL: " + driver.getCurrentUrl());
-            log.info("[LoginPage] Final title: " + driver.getTitle());
+            log.info("[LoginPage] Final URL: {}", driver.getCurrentUrl());
+            log.info("[LoginPage] Final title: {}", driver.getTitle());
+            EnvironmentCircuitBreaker.shared().recordFailure("login page without username input", e);
             throw e;
         }
     }
 
     /**
-     * Perform login with given credentials.
+     * Perform login with given credentials (fields and button in one batched script call).
      */
     public void loginAs(String username, String password) {
         try {
-            type(usernameInput, username);
-            type(passwordInput, password);
-            click(loginButton);
+            batch().type(USERNAME_INPUT, username)
+                    .type(PASSWORD_INPUT, password)
+                    .click(LOGIN_BUTTON)
+                    .execute();
         } catch (TimeoutException e) {
             WebDriver driver = DriverManager.getDriver();
-            log.info("[LoginPage] Timeout in loginAs(). URL: " + driver.getCurrentUrl());
-            log.info("[LoginPage] Title: " + driver.getTitle());
+            log.info("[LoginPage] Timeout in loginAs(). URL: {}", driver.getCurrentUrl());
+            log.info("[LoginPage] Title: {}", driver.getTitle());
             throw e;
         }
     }
 
+    /**
+     * Make sure the browser is logged in as the given user, starting from any state.
+     *
+     * Restores a session checkpoint (cookies + localStorage from an earlier login) when one exists, which
+     * skips the login form entirely. Falls back to the UI login when there is no valid checkpoint or the
+     * restored state is not logged in, and captures a new checkpoint after a successful UI login.
+     */
+    public void ensureLoggedInAs(String username, String password) {
+        SessionCheckpoint checkpoint = SessionCheckpointStore.find(username);
+        if (checkpoint != null && restoreCheckpoint(username, checkpoint)) {
+            return;
+        }
+
+        open();
+        loginAs(username, password);
+        if (isProductsPageDisplayed()) {
+            checkpointSession(username);
+        }
+    }
+
+    /**
+     * Save the current (logged-in) browser state as the checkpoint for this user.
+     */
+    public void checkpointSession(String username) {
+        SessionCheckpointStore.capture(driver, username);
+    }
+
+    private boolean restoreCheckpoint(String username, SessionCheckpoint checkpoint) {
+        long start = System.nanoTime();
+
+        // Cookies and localStorage can only be written for the current origin, so load it first.
+        super.open(ConfigurationManager.config().getLoginPath());
+        SessionCheckpointStore.restore(driver, checkpoint);
+        super.open(LANDING_PATH);
+
+        Duration verifyTimeout = Duration.ofSeconds(ConfigurationManager.getInt("session.checkpoint.verify.seconds", 5));
+        try {
+            new WaitEngine(driver, verifyTimeout).until(PRODUCTS_TITLE, Readiness.VISIBLE);
+            log.info("[LoginPage] Restored session checkpoint for '{}' in {}ms",
+                    username, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (TimeoutException e) {
+            log.info("[LoginPage] Session checkpoint for '{}' no longer valid (URL: {}), falling back to UI login",
+                    username, driver.getCurrentUrl());
+            SessionCheckpointStore.invalidate(username);
+            return false;
+        }
+    }
+
     /**
      * Check if Products page is displayed after login.
      */
     public boolean isProductsPageDisplayed() {
         try {
-            return waitVisible(productsTitle).isDisplayed();
+            return waitVisible(PRODUCTS_TITLE).isDisplayed();
         } catch (TimeoutException e) {
             return false;
         }
@@ -76,7 +138,7 @@ public class LoginPage extends BasePage {
      */
     public String getErrorMessage() {
         try {
-            return getText(errorMessage);
+            return getText(ERROR_MESSAGE);
         } catch (TimeoutException e) {
             return "";
         }
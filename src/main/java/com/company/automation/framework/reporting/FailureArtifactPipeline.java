@@ -0,0 +1,231 @@
+package com.company.automation.framework.reporting;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Captures failure artifacts (screenshot, DOM, browser console log, URL) in one pass on the scenario thread
+ * and hands compression and writing to a bounded background executor, so the worker can release or recycle
+ * its browser right away.
+ *
+ * The attachments are registered with Allure on the scenario thread ({@code prepareAttachment}, which only
+ * links a file name to the running test) and their content is written to allure-results later
+ * ({@code writeAttachment}). Screenshots are re-encoded with maximum PNG compression and the DOM is gzipped.
+ *
+ * Backpressure: the queue holds artifacts.queue.size captures; when it is full the scenario thread does the
+ * work itself instead of piling up memory. {@link #flushShared(Duration)} must run at suite end.
+ *
+ * Config: artifacts.threads (2), artifacts.queue.size (16), artifacts.screenshot.recompress (true),
+ * artifacts.dom.gzip (true).
+ */
+public final class FailureArtifactPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifactPipeline.class);
+
+    private static volatile FailureArtifactPipeline shared;
+
+    private final ThreadPoolExecutor executor;
+    private final boolean recompressScreenshots;
+    private final boolean gzipDom;
+
+    private FailureArtifactPipeline(int threads, int queueSize, boolean recompressScreenshots, boolean gzipDom) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "failure-artifacts-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.recompressScreenshots = recompressScreenshots;
+        this.gzipDom = gzipDom;
+    }
+
+    public static FailureArtifactPipeline shared() {
+        FailureArtifactPipeline pipeline = shared;
+        if (pipeline == null) {
+            synchronized (FailureArtifactPipeline.class) {
+                pipeline = shared;
+                if (pipeline == null) {
+                    pipeline = new FailureArtifactPipeline(
+                            ConfigurationManager.getInt("artifacts.threads", 2),
+                            ConfigurationManager.getInt("artifacts.queue.size", 16),
+                            ConfigurationManager.getBoolean("artifacts.screenshot.recompress", true),
+                            ConfigurationManager.getBoolean("artifacts.dom.gzip", true));
+                    shared = pipeline;
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    /**
+     * Wait for all queued artifacts to be written. Call once at suite end.
+     */
+    public static void flushShared(Duration timeout) {
+        FailureArtifactPipeline pipeline;
+        synchronized (FailureArtifactPipeline.class) {
+            pipeline = shared;
+            shared = null;
+        }
+        if (pipeline == null) {
+            return;
+        }
+        pipeline.executor.shutdown();
+        try {
+            if (!pipeline.executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("[Artifacts] {} failure artifact(s) still pending after {}s",
+                        pipeline.executor.getQueue().size(), timeout.getSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Grab everything from the browser now (scenario thread, before the session is released);
+     * compression and I/O happen in the background.
+     */
+    public void capture(WebDriver driver, String label) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+
+        byte[] screenshot = null;
+        if (driver instanceof TakesScreenshot) {
+            try {
+                screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException e) {
+                log.info("[Artifacts] Screenshot failed: {}", e.getMessage());
+            }
+        }
+        String url = safe(driver::getCurrentUrl);
+        String dom = safe(driver::getPageSource);
+        String console = safe(() -> consoleLog(driver));
+
+        // Link the attachments to the running test now; the files are written by the executor.
+        String screenshotSource = screenshot == null ? null
+                : lifecycle.prepareAttachment(label + " screenshot", "image/png", "png");
+        String domSource = dom == null ? null
+                : gzipDom
+                ? lifecycle.prepareAttachment(label + " DOM (gzip)", "application/gzip", "html.gz")
+                : lifecycle.prepareAttachment(label + " DOM", "text/html", "html");
+        String consoleSource = console == null ? null
+                : lifecycle.prepareAttachment(label + " console log", "text/plain", "txt");
+        String urlSource = url == null ? null
+                : lifecycle.prepareAttachment(label + " URL", "text/uri-list", "uri");
+
+        byte[] png = screenshot;
+        // Keep the scenario's MDC on anything the background writer logs.
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        executor.execute(() -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                write(lifecycle, screenshotSource, png == null ? null : recompressScreenshots ? recompressPng(png) : png);
+                write(lifecycle, domSource, dom == null ? null : gzipDom ? gzip(dom) : dom.getBytes(StandardCharsets.UTF_8));
+                write(lifecycle, consoleSource, console == null ? null : console.getBytes(StandardCharsets.UTF_8));
+                write(lifecycle, urlSource, url == null ? null : url.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                MDC.clear();
+            }
+        });
+    }
+
+    private static void write(AllureLifecycle lifecycle, String source, byte[] content) {
+        if (source == null || content == null) {
+            return;
+        }
+        try {
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+        } catch (RuntimeException e) {
+            log.warn("[Artifacts] Could not write attachment {}: {}", source, e.getMessage());
+        }
+    }
+
+    private static String consoleLog(WebDriver driver) {
+        StringBuilder out = new StringBuilder();
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            out.append(entry).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Browsers favour speed when encoding screenshots; a max-compression re-encode is usually 20-40% smaller.
+     * The original bytes are kept when re-encoding does not help or fails.
+     */
+    private static byte[] recompressPng(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                return png;
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(png.length);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (param.canWriteCompressed()) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(0.0f);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return out.size() < png.length ? out.toByteArray() : png;
+        } catch (IOException | RuntimeException e) {
+            return png;
+        }
+    }
+
+    private static byte[] gzip(String text) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip to memory failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String safe(Supplier<String> supplier) {
+        try {
+            return supplier.get();
+        } catch (WebDriverException | IllegalArgumentException e) {
+            // e.g. console logs are not supported by this browser
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.company.automation.framework.session;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Browser state captured right after a successful login: cookies and localStorage of the application origin.
+ */
+public final class SessionCheckpoint {
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Instant capturedAt;
+
+    public SessionCheckpoint(Set<Cookie> cookies, Map<String, String> localStorage, Instant capturedAt) {
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Older than the TTL, or one of the cookies has already expired in the browser's eyes.
+     */
+    public boolean isExpired(Duration ttl, Instant now) {
+        if (capturedAt.plus(ttl).isBefore(now)) {
+            return true;
+        }
+        Date nowDate = Date.from(now);
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(nowDate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
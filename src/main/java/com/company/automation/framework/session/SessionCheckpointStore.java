@@ -0,0 +1,117 @@
+package com.company.automation.framework.session;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.config.FrameworkConfig;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide store of logged-in session state, one checkpoint per user and environment.
+ *
+ * After one real UI login the cookies and localStorage are captured; later scenarios restore them into a
+ * fresh or pooled session instead of driving the login form again. Checkpoints expire after
+ * session.checkpoint.ttl.seconds and are dropped as soon as a restore turns out not to be logged in,
+ * so the caller falls back to the UI login and captures a new one. Passwords are never stored.
+ *
+ * Config: session.checkpoint.enabled (true), session.checkpoint.ttl.seconds (300).
+ */
+public final class SessionCheckpointStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionCheckpointStore.class);
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var out = {};"
+            + "for (var i = 0; i < window.localStorage.length; i++) {"
+            + "  var key = window.localStorage.key(i); out[key] = window.localStorage.getItem(key); }"
+            + "return out;";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var items = arguments[0];"
+            + "Object.keys(items).forEach(function (key) { window.localStorage.setItem(key, items[key]); });";
+
+    private static final Map<String, SessionCheckpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+
+    private SessionCheckpointStore() {
+        // utility class
+    }
+
+    public static boolean isEnabled() {
+        return ConfigurationManager.getBoolean("session.checkpoint.enabled", true);
+    }
+
+    /**
+     * The checkpoint for a user in the current environment, or null when there is none or it has expired.
+     */
+    public static SessionCheckpoint find(String username) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = key(username);
+        SessionCheckpoint checkpoint = CHECKPOINTS.get(key);
+        if (checkpoint != null && checkpoint.isExpired(ttl(), Instant.now())) {
+            CHECKPOINTS.remove(key, checkpoint);
+            log.info("[SessionCheckpoint] Checkpoint for '{}' expired", username);
+            return null;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Capture the current browser state as the checkpoint for a user. The driver must be on the
+     * application origin (e.g. the page shown right after login).
+     */
+    public static void capture(WebDriver driver, String username) {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<String, String> storage = new LinkedHashMap<>();
+        Object items = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        if (items instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) items).entrySet()) {
+                storage.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        SessionCheckpoint checkpoint = new SessionCheckpoint(driver.manage().getCookies(), storage, Instant.now());
+        CHECKPOINTS.put(key(username), checkpoint);
+        log.info("[SessionCheckpoint] Captured checkpoint for '{}' ({} cookies, {} localStorage items)",
+                username, checkpoint.getCookies().size(), storage.size());
+    }
+
+    /**
+     * Write a checkpoint into the browser. The driver must already be on the application origin,
+     * since cookies and localStorage can only be set for the current document's origin.
+     */
+    public static void restore(WebDriver driver, SessionCheckpoint checkpoint) {
+        for (Cookie cookie : checkpoint.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        if (!checkpoint.getLocalStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, checkpoint.getLocalStorage());
+        }
+    }
+
+    /**
+     * Drop a user's checkpoint, e.g. after a restore did not result in a logged-in page.
+     */
+    public static void invalidate(String username) {
+        CHECKPOINTS.remove(key(username));
+    }
+
+    private static Duration ttl() {
+        return Duration.ofSeconds(ConfigurationManager.getInt("session.checkpoint.ttl.seconds", 300));
+    }
+
+    private static String key(String username) {
+        FrameworkConfig config = ConfigurationManager.config();
+        return config.getEnv() + "|" + config.getBaseUrl() + "|" + username;
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.automation.framework.utils;
+
+/**
+ * Parsing helpers for the price texts shown by Swag Labs ("$29.99", "Item total: $39.98").
+ */
+public final class Prices {
+
+    private Prices() {
+        // utility class
+    }
+
+    /**
+     * Parse a price like "$29.99" into 29.99. Text before a colon (a label) is ignored.
+     */
+    public static double parse(String priceText) {
+        if (priceText == null) {
+            throw new IllegalArgumentException("Price text is null");
+        }
+        String text = priceText.trim();
+        int colon = text.lastIndexOf(':');
+        if (colon >= 0) {
+            text = text.substring(colon + 1).trim();
+        }
+        if (text.startsWith("$")) {
+            text = text.substring(1);
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unexpected price format: " + priceText, e);
+        }
+    }
+}
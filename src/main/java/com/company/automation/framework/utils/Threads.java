@@ -0,0 +1,72 @@
+package com.company.automation.framework.utils;
+
+import com.company.automation.framework.config.ConfigurationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for framework work that mostly blocks on I/O; used for driver pool warm-up, which waits for browsers
+ * to start.
+ *
+ * On JDK 21+ every task gets its own virtual thread, so a blocked call parks cheaply instead of holding a
+ * platform thread. The project compiles for release 17, so virtual threads are looked up reflectively;
+ * older runtimes, or threads.virtual=false, get a cached pool of daemon platform threads instead.
+ */
+public final class Threads {
+
+    private static final ExecutorProvider VIRTUAL = virtualThreads();
+
+    private Threads() {
+        // utility class
+    }
+
+    /**
+     * True when {@link #newPerTaskExecutor(String)} hands out virtual threads.
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL != null && ConfigurationManager.getBoolean("threads.virtual", true);
+    }
+
+    /**
+     * An executor that starts a thread per task, named {@code prefix-<n>}.
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix) {
+        if (virtualThreadsAvailable()) {
+            try {
+                return VIRTUAL.executor(prefix);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorProvider virtualThreads() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Method name = builder.getMethod("name", String.class, long.class);
+            Method factory = builder.getMethod("factory");
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return prefix -> {
+                Object named = name.invoke(ofVirtual.invoke(null), prefix + "-", 1L);
+                return (ExecutorService) perTask.invoke(null, factory.invoke(named));
+            };
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private interface ExecutorProvider {
+        ExecutorService executor(String prefix) throws ReflectiveOperationException;
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.automation.framework.core;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.xml.sax.InputSource;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * XPath-to-CSS rewriting, literal escaping and locator validation.
+ */
+class LocatorsTest {
+
+    @Test
+    void rewritesTagAndSingleAttributeXPathToCss() {
+        assertEquals("button", Locators.cssEquivalent("//button"));
+        assertEquals("*", Locators.cssEquivalent("//*"));
+        assertEquals("input[id='user-name']", Locators.cssEquivalent("//input[@id='user-name']"));
+        assertEquals("input[id='user-name']", Locators.cssEquivalent("//input[@id=\"user-name\"]"));
+        assertEquals("[data-test='error']", Locators.cssEquivalent("//*[@data-test='error']"));
+    }
+
+    @Test
+    void escapesQuotesAndBackslashesInRewrittenValues() {
+        assertEquals("a[title='it\\'s']", Locators.cssEquivalent("//a[@title=\"it's\"]"));
+        assertEquals("a[title='c:\\\\tmp']", Locators.cssEquivalent("//a[@title='c:\\tmp']"));
+    }
+
+    @Test
+    void leavesOtherXPathAlone() {
+        assertNull(Locators.cssEquivalent("//div/span"));
+        assertNull(Locators.cssEquivalent("//div//span"));
+        assertNull(Locators.cssEquivalent("/html/body"));
+        assertNull(Locators.cssEquivalent("(//a)[1]"));
+        assertNull(Locators.cssEquivalent("//li[2]"));
+        assertNull(Locators.cssEquivalent("//a[@id='x'][@class='y']"));
+        assertNull(Locators.cssEquivalent("//div[contains(@class, 'item')]"));
+        assertNull(Locators.cssEquivalent("//div[text()='Swag']"));
+    }
+
+    @Test
+    void xpathLocatorUsesCssWhenEquivalent() {
+        By rewritten = Locators.xpath("//input[@name='test-xpath-rewrite']");
+        By kept = Locators.xpath("//div[@class='test-xpath-kept']/span");
+
+        assertEquals(By.cssSelector("input[name='test-xpath-rewrite']"), rewritten);
+        assertSame(rewritten, Locators.css("input[name='test-xpath-rewrite']"));
+        assertEquals(By.xpath("//div[@class='test-xpath-kept']/span"), kept);
+        assertSame(kept, Locators.xpath("//div[@class='test-xpath-kept']/span"));
+    }
+
+    @Test
+    void xpathLiteralQuotesWithTheKindTheValueDoesNotContain() throws XPathExpressionException {
+        assertEquals("'Sauce Labs Backpack'", Locators.xpathLiteral("Sauce Labs Backpack"));
+        assertEquals("\"Test.allTheThings() T-Shirt's\"", Locators.xpathLiteral("Test.allTheThings() T-Shirt's"));
+        assertEquals("'The \"Red\" One'", Locators.xpathLiteral("The \"Red\" One"));
+
+        assertEquals("Test.allTheThings() T-Shirt's", evaluate(Locators.xpathLiteral("Test.allTheThings() T-Shirt's")));
+        assertEquals("The \"Red\" One", evaluate(Locators.xpathLiteral("The \"Red\" One")));
+    }
+
+    @Test
+    void xpathLiteralUsesConcatForBothQuoteKinds() throws XPathExpressionException {
+        String value = "It's the \"Red\" one's";
+
+        String literal = Locators.xpathLiteral(value);
+
+        assertEquals("concat('It', \"'\", 's the \"Red\" one', \"'\", 's')", literal);
+        assertEquals(value, evaluate(literal));
+    }
+
+    @Test
+    void xpathLiteralKeepsTheValueAsGiven() throws XPathExpressionException {
+        assertEquals("'  padded '", Locators.xpathLiteral("  padded "));
+        assertEquals("''", Locators.xpathLiteral(""));
+        assertEquals(" it's ", evaluate(Locators.xpathLiteral(" it's ")));
+    }
+
+    @Test
+    void rejectsInvalidLocators() {
+        IllegalArgumentException css = assertThrows(IllegalArgumentException.class, () -> Locators.css("div[data-x='"));
+        IllegalArgumentException xpath = assertThrows(IllegalArgumentException.class, () -> Locators.xpath("//div[@"));
+
+        assertTrue(css.getMessage().startsWith("Invalid CSS selector"), css.getMessage());
+        assertTrue(xpath.getMessage().startsWith("Invalid XPath"), xpath.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Locators.css(" "));
+        assertThrows(IllegalArgumentException.class, () -> Locators.id(""));
+    }
+
+    @Test
+    void slugOfProductName() {
+        assertEquals("sauce-labs-bike-light", Locators.slug(" Sauce Labs Bike Light "));
+    }
+
+    /**
+     * The string an XPath 1.0 engine reads from the literal.
+     */
+    private static String evaluate(String literal) throws XPathExpressionException {
+        return XPathFactory.newInstance().newXPath().evaluate(literal, new InputSource(new StringReader("<a/>")));
+    }
+}
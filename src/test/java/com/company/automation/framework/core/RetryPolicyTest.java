@@ -0,0 +1,152 @@
+package com.company.automation.framework.core;
+
+import com.company.automation.framework.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Which failures are retried, and when retrying stops. Each test uses its own locator label so the
+ * process-wide counters can be read per test.
+ */
+class RetryPolicyTest {
+
+    private static final long GENEROUS_BUDGET_MILLIS = 60_000;
+
+    @Test
+    void returnsTheResultOnceATransientFailurePasses() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.CLICK, 3, GENEROUS_BUDGET_MILLIS, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute("recovers", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("re-rendered");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, retries("click", "recovers", "StaleElementReferenceException"));
+        assertEquals(0, exhausted("click", "recovers"));
+    }
+
+    @Test
+    void stopsAtTheAttemptLimitAndRethrowsTheLastFailure() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.CLICK, 3, GENEROUS_BUDGET_MILLIS, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        WebDriverException thrown = assertThrows(ElementClickInterceptedException.class,
+                () -> policy.execute("always-covered", () -> {
+                    throw new ElementClickInterceptedException("overlay " + calls.incrementAndGet());
+                }));
+
+        assertEquals(3, calls.get());
+        assertTrue(thrown.getMessage().startsWith("overlay 3"), thrown.getMessage());
+        assertEquals(2, retries("click", "always-covered", "ElementClickInterceptedException"));
+        assertEquals(1, exhausted("click", "always-covered"));
+    }
+
+    @Test
+    void stopsWhenTheNextBackoffWouldExceedTheBudget() {
+        // Every backoff is at least 1ms, so a zero budget leaves no room for a retry
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.TYPE, 10, 0, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(StaleElementReferenceException.class, () -> policy.execute("no-budget", () -> {
+            calls.incrementAndGet();
+            throw new StaleElementReferenceException("gone");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, exhausted("type", "no-budget"));
+    }
+
+    @Test
+    void budgetCutsOffBeforeTheAttemptLimit() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.READ, 1000, 100, 5, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        assertThrows(StaleElementReferenceException.class, () -> policy.execute("short-budget", () -> {
+            calls.incrementAndGet();
+            sleep(20);
+            throw new StaleElementReferenceException("gone");
+        }));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // The clock starts at the first failure: about 20ms, then at most 100ms of (20ms attempts + backoff)
+        assertTrue(calls.get() >= 2 && calls.get() <= 6, calls.get() + " attempts");
+        assertTrue(elapsedMillis < 2000, "gave up after " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void timeoutsAreNotRetried() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.CLICK, 3, GENEROUS_BUDGET_MILLIS, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+        TimeoutException timeout = new TimeoutException("waited 10s");
+
+        TimeoutException thrown = assertThrows(TimeoutException.class, () -> policy.execute("slow", () -> {
+            calls.incrementAndGet();
+            throw timeout;
+        }));
+
+        assertSame(timeout, thrown);
+        assertEquals(1, calls.get());
+        assertEquals(0, exhausted("click", "slow"));
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.READ, 3, GENEROUS_BUDGET_MILLIS, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(NoSuchElementException.class, () -> policy.execute("missing", () -> {
+            calls.incrementAndGet();
+            throw new NoSuchElementException("no such element");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void singleAttemptDisablesRetries() {
+        RetryPolicy policy = new RetryPolicy(RetryPolicy.Action.TYPE, 1, GENEROUS_BUDGET_MILLIS, 1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(StaleElementReferenceException.class, () -> policy.execute("disabled", () -> {
+            calls.incrementAndGet();
+            throw new StaleElementReferenceException("gone");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, exhausted("type", "disabled"));
+    }
+
+    private static long retries(String action, String locator, String cause) {
+        return MetricsRegistry.counter(RetryPolicy.RETRY_METRIC, "action", action, "locator", locator, "cause", cause)
+                .sum();
+    }
+
+    private static long exhausted(String action, String locator) {
+        return MetricsRegistry.counter(RetryPolicy.EXHAUSTED_METRIC, "action", action, "locator", locator).sum();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.company.automation.framework.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the circuit against a local HTTP server standing in for base.url.
+ */
+class EnvironmentCircuitBreakerTest {
+
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(300);
+
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void preflightLeavesCircuitClosedWhenSiteAnswers() {
+        EnvironmentCircuitBreaker circuit = circuit(3, baseUrl);
+
+        circuit.preflight();
+
+        assertEquals(EnvironmentCircuitBreaker.State.CLOSED, circuit.state());
+        assertEquals(Optional.empty(), circuit.skipReason());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void preflightOpensOnServerError() {
+        status.set(500);
+        EnvironmentCircuitBreaker circuit = circuit(3, baseUrl);
+
+        circuit.preflight();
+
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+        Optional<String> reason = circuit.skipReason();
+        assertTrue(reason.isPresent());
+        assertTrue(reason.get().contains("HTTP 500"), reason.get());
+    }
+
+    @Test
+    void preflightOpensWhenNothingListens() throws IOException {
+        EnvironmentCircuitBreaker circuit = circuit(3, "http://127.0.0.1:" + closedPort() + "/");
+
+        circuit.preflight();
+
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+        assertTrue(circuit.skipReason().isPresent());
+    }
+
+    @Test
+    void opensAfterThresholdConsecutiveFailures() {
+        EnvironmentCircuitBreaker circuit = circuit(3, baseUrl);
+
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        assertEquals(EnvironmentCircuitBreaker.State.CLOSED, circuit.state());
+
+        // Any other outcome shows the site answering and resets the count
+        circuit.scenarioFinished();
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        assertEquals(EnvironmentCircuitBreaker.State.CLOSED, circuit.state());
+
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+        assertTrue(circuit.skipReason().get().contains("3 consecutive"));
+    }
+
+    @Test
+    void probesOnlyOncePerIntervalThenClosesOnSuccess() throws InterruptedException {
+        EnvironmentCircuitBreaker circuit = circuit(1, baseUrl);
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+
+        assertTrue(circuit.skipReason().isPresent());
+        assertTrue(circuit.skipReason().isPresent());
+        assertEquals(0, requests.get(), "no probe before the interval has passed");
+
+        Thread.sleep(PROBE_INTERVAL.toMillis() + 100);
+        assertFalse(circuit.skipReason().isPresent());
+        assertEquals(1, requests.get());
+        assertEquals(EnvironmentCircuitBreaker.State.HALF_OPEN, circuit.state());
+
+        circuit.scenarioFinished();
+        assertEquals(EnvironmentCircuitBreaker.State.CLOSED, circuit.state());
+        assertEquals("opened 1 time(s), 2 scenario(s) skipped, now CLOSED", circuit.summary());
+    }
+
+    @Test
+    void failedProbeKeepsCircuitOpenForAnotherInterval() throws InterruptedException {
+        status.set(503);
+        EnvironmentCircuitBreaker circuit = circuit(1, baseUrl);
+        circuit.preflight();
+        assertEquals(1, requests.get());
+
+        Thread.sleep(PROBE_INTERVAL.toMillis() + 100);
+        assertTrue(circuit.skipReason().isPresent());
+        assertEquals(2, requests.get());
+        assertTrue(circuit.skipReason().isPresent());
+        assertEquals(2, requests.get(), "the failed probe restarts the interval");
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+    }
+
+    @Test
+    void halfOpenReopensOnFirstFailure() throws InterruptedException {
+        EnvironmentCircuitBreaker circuit = circuit(3, baseUrl);
+        status.set(500);
+        circuit.preflight();
+        status.set(200);
+
+        Thread.sleep(PROBE_INTERVAL.toMillis() + 100);
+        assertFalse(circuit.skipReason().isPresent());
+        assertEquals(EnvironmentCircuitBreaker.State.HALF_OPEN, circuit.state());
+
+        // One failure is enough while half-open, regardless of the threshold
+        circuit.recordFailure("Login form", new SocketTimeoutException("timed out"));
+        assertEquals(EnvironmentCircuitBreaker.State.OPEN, circuit.state());
+        assertTrue(circuit.skipReason().get().contains("after a successful probe"));
+    }
+
+    @Test
+    void disabledCircuitNeverOpens() throws IOException {
+        EnvironmentCircuitBreaker circuit = new EnvironmentCircuitBreaker(false, 1, PROBE_INTERVAL,
+                Duration.ofSeconds(2), "http://127.0.0.1:" + closedPort() + "/");
+
+        circuit.preflight();
+        circuit.recordFailure("Navigation", new SocketTimeoutException("timed out"));
+
+        assertEquals(EnvironmentCircuitBreaker.State.CLOSED, circuit.state());
+        assertEquals(Optional.empty(), circuit.skipReason());
+    }
+
+    private static EnvironmentCircuitBreaker circuit(int threshold, String url) {
+        return new EnvironmentCircuitBreaker(true, threshold, PROBE_INTERVAL, Duration.ofSeconds(2), url);
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
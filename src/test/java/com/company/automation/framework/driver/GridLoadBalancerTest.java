@@ -0,0 +1,139 @@
+package com.company.automation.framework.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.SessionNotCreatedException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Slot selection and queueing against stub Grid 4 /status endpoints.
+ */
+class GridLoadBalancerTest {
+
+    private static final Duration CACHED = Duration.ofMinutes(1);
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void picksEndpointWithMostFreeSlotsAndCountsPendingSessions() throws IOException {
+        URL one = grid(new AtomicReference<>(status(node("UP", slot("chrome", false), slot("chrome", true)))));
+        URL two = grid(new AtomicReference<>(status(node("UP", slot("chrome", false), slot("chrome", false)))));
+        GridLoadBalancer balancer = new GridLoadBalancer(List.of(one, two), Duration.ofSeconds(1), CACHED);
+
+        assertEquals(two, balancer.reserveEndpoint("chrome").getUrl());
+        // Both now have one free slot: the first endpoint wins the tie
+        assertEquals(one, balancer.reserveEndpoint("chrome").getUrl());
+        assertEquals(two, balancer.reserveEndpoint("chrome").getUrl());
+    }
+
+    @Test
+    void ignoresOtherBrowsersDownNodesAndUnreachableEndpoints() throws IOException {
+        URL firefoxOnly = grid(new AtomicReference<>(status(node("UP", slot("firefox", false)))));
+        URL down = grid(new AtomicReference<>(status(node("DOWN", slot("chrome", false), slot("chrome", false)))));
+        URL unreachable = new URL("http://127.0.0.1:" + closedPort());
+        URL free = grid(new AtomicReference<>(status(node("UP", slot("chrome", false)))));
+        GridLoadBalancer balancer =
+                new GridLoadBalancer(List.of(firefoxOnly, down, unreachable, free), Duration.ofSeconds(1), CACHED);
+
+        assertEquals(free, balancer.reserveEndpoint("chrome").getUrl());
+        assertEquals(firefoxOnly, balancer.reserveEndpoint("firefox").getUrl());
+    }
+
+    @Test
+    void queuesUntilSlotFreesUp() throws Exception {
+        AtomicReference<String> status = new AtomicReference<>(status(node("UP", slot("chrome", true))));
+        URL url = grid(status);
+        GridLoadBalancer balancer = new GridLoadBalancer(List.of(url), Duration.ofSeconds(10), CACHED);
+
+        Thread release = new Thread(() -> {
+            try {
+                Thread.sleep(400);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            status.set(status(node("UP", slot("chrome", false))));
+        });
+        long start = System.nanoTime();
+        release.start();
+        GridEndpoint endpoint = balancer.reserveEndpoint("chrome");
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.join();
+
+        assertEquals(url, endpoint.getUrl());
+        assertTrue(waitedMillis >= 400, "returned after " + waitedMillis + "ms");
+        assertTrue(waitedMillis < 5000, "returned after " + waitedMillis + "ms");
+    }
+
+    @Test
+    void failsWhenNoSlotFreesUpWithinQueueTimeout() throws IOException {
+        URL url = grid(new AtomicReference<>(status(node("UP", slot("chrome", true)))));
+        GridLoadBalancer balancer = new GridLoadBalancer(List.of(url), Duration.ofMillis(700), CACHED);
+
+        long start = System.nanoTime();
+        SessionNotCreatedException e =
+                assertThrows(SessionNotCreatedException.class, () -> balancer.reserveEndpoint("chrome"));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(e.getMessage().contains("No free chrome slot"), e.getMessage());
+        assertTrue(waitedMillis >= 700, "gave up after " + waitedMillis + "ms");
+        assertTrue(waitedMillis < 5000, "gave up after " + waitedMillis + "ms");
+    }
+
+    /**
+     * A grid whose /status serves the current value of {@code status}.
+     */
+    private URL grid(AtomicReference<String> status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/status", exchange -> {
+            byte[] body = status.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        servers.add(server);
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\":{\"ready\":true,\"nodes\":[" + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, String... slots) {
+        return "{\"availability\":\"" + availability + "\",\"slots\":[" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browserName, boolean busy) {
+        return "{\"stereotype\":{\"browserName\":\"" + browserName + "\"},\"session\":"
+                + (busy ? "{\"sessionId\":\"abc\"}" : "null") + "}";
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.automation.tests.metrics;
+
+import com.company.automation.framework.metrics.MetricsRegistry;
+import com.company.automation.tests.scheduling.Sharding;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Times every Cucumber step and hook into the shared metrics registry and exports all metrics
+ * (including the WebDriver command and wait histograms) when the run finishes:
+ *  - target/metrics/ui-metrics.json  (per key summary: count, mean, p50/p90/p99, max, total; slowest first)
+ *  - target/metrics/ui-metrics.prom  (Prometheus text format)
+ * In a sharded run these go to target/shard-&lt;index&gt;/metrics/ instead.
+ *
+ * Steps are keyed by their step definition pattern, so "I sort products by {string}" is one series
+ * no matter which values the scenarios pass.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    public static final String STEP_METRIC = "cucumber_step";
+    public static final String HOOK_METRIC = "cucumber_hook";
+
+    private static final Logger log = LoggerFactory.getLogger(StepTimingPlugin.class);
+    private static final Path OUTPUT_DIR = Sharding.outputDir().resolve("metrics");
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            MetricsRegistry.histogram(STEP_METRIC, "step", step.getPattern()).recordNanos(nanos);
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) event.getTestStep();
+            MetricsRegistry.histogram(HOOK_METRIC,
+                    "hook", hook.getCodeLocation(),
+                    "type", hook.getHookType().name()).recordNanos(nanos);
+        }
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        try {
+            MetricsRegistry.writeJson(OUTPUT_DIR.resolve("ui-metrics.json"));
+            MetricsRegistry.writePrometheus(OUTPUT_DIR.resolve("ui-metrics.prom"));
+            log.info("[Metrics] Step, hook and WebDriver command timings written to {}", OUTPUT_DIR.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("[Metrics] Could not write metrics: {}", e.getMessage());
+        }
+    }
+}
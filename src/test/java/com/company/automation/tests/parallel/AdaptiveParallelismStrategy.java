@@ -0,0 +1,151 @@
+package com.company.automation.tests.parallel;
+
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.driver.DriverManager;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes the Cucumber worker pool from the machine instead of a hard-coded parallelism.
+ *
+ * Every worker drives its own browser, so the worker count is the smaller of:
+ *  - available cores / cores needed per browser, and
+ *  - (free physical memory - reserve) / memory footprint per browser.
+ *
+ * Registered through cucumber.execution.parallel.config.custom.class. The parameters below are read
+ * relative to the cucumber.execution.parallel.config. prefix and can be overridden with -D:
+ *  - custom.cores-per-browser   (default 1.0)
+ *  - custom.browser-memory-mb   (default 500)
+ *  - custom.memory-reserve-mb   (default 1024)
+ *  - custom.max-parallelism     (default 16)
+ *
+ * A run on the in-process HtmlUnit driver (-Dbrowser=htmlunit) has no browser processes, so it is sized with
+ * custom.lightweight-cores-per-browser (default 0.25) and custom.lightweight-browser-memory-mb (default 64)
+ * instead of the first two. With driver.isolation=context, Chrome scenarios are browser contexts in one shared
+ * Chrome, sized with custom.context-cores-per-browser (default 0.5) and custom.context-browser-memory-mb
+ * (default 150) per context.
+ */
+public class AdaptiveParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveParallelismStrategy.class);
+
+    static final String CORES_PER_BROWSER = "custom.cores-per-browser";
+    static final String BROWSER_MEMORY_MB = "custom.browser-memory-mb";
+    static final String MEMORY_RESERVE_MB = "custom.memory-reserve-mb";
+    static final String MAX_PARALLELISM = "custom.max-parallelism";
+    static final String LIGHTWEIGHT_CORES_PER_BROWSER = "custom.lightweight-cores-per-browser";
+    static final String LIGHTWEIGHT_BROWSER_MEMORY_MB = "custom.lightweight-browser-memory-mb";
+    static final String CONTEXT_CORES_PER_BROWSER = "custom.context-cores-per-browser";
+    static final String CONTEXT_BROWSER_MEMORY_MB = "custom.context-browser-memory-mb";
+
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        String browser = System.getProperty("browser", "chrome").toLowerCase(Locale.ROOT);
+        boolean lightweight = browser.contains("htmlunit");
+        boolean contexts = !lightweight && browser.contains("chrome")
+                && "context".equalsIgnoreCase(ConfigurationManager.get("driver.isolation", "process").trim());
+        double coresPerBrowser;
+        long browserMemoryMb;
+        if (lightweight) {
+            coresPerBrowser = parameters.get(LIGHTWEIGHT_CORES_PER_BROWSER, Double::parseDouble).orElse(0.25);
+            browserMemoryMb = parameters.get(LIGHTWEIGHT_BROWSER_MEMORY_MB, Long::parseLong).orElse(64L);
+        } else if (contexts) {
+            coresPerBrowser = parameters.get(CONTEXT_CORES_PER_BROWSER, Double::parseDouble).orElse(0.5);
+            browserMemoryMb = parameters.get(CONTEXT_BROWSER_MEMORY_MB, Long::parseLong).orElse(150L);
+        } else {
+            coresPerBrowser = parameters.get(CORES_PER_BROWSER, Double::parseDouble).orElse(1.0);
+            browserMemoryMb = parameters.get(BROWSER_MEMORY_MB, Long::parseLong).orElse(500L);
+        }
+        long reserveMb = parameters.get(MEMORY_RESERVE_MB, Long::parseLong).orElse(1024L);
+        int maxParallelism = parameters.get(MAX_PARALLELISM, Integer::parseInt).orElse(16);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int byCpu = (int) Math.floor(cores / Math.max(coresPerBrowser, 0.1));
+
+        long freeMb = freePhysicalMemoryMb();
+        int byMemory = freeMb < 0
+                ? Integer.MAX_VALUE
+                : (int) Math.max(0, (freeMb - reserveMb) / Math.max(browserMemoryMb, 1));
+
+        int parallelism = Math.max(1, Math.min(maxParallelism, Math.min(byCpu, byMemory)));
+
+        log.info("[Parallel] cores={}, freeMemory={} -> byCpu={}, byMemory={}, cap={} => {} worker(s)",
+                cores, freeMb < 0 ? "unknown" : freeMb + "MB", byCpu, byMemory == Integer.MAX_VALUE ? "n/a" : byMemory,
+                maxParallelism, parallelism);
+
+        alignDriverPool(parallelism);
+        return new FixedConfiguration(parallelism);
+    }
+
+    /**
+     * One browser per worker: size the session pool to match unless the user pinned it with -D. Handed to
+     * DriverManager directly, so it does not depend on when the configuration snapshot was first read.
+     */
+    private static void alignDriverPool(int parallelism) {
+        if (System.getProperty("driver.pool.size") == null) {
+            DriverManager.setPoolSize(parallelism, Integer.getInteger("driver.pool.warm", parallelism));
+        }
+    }
+
+    private static long freePhysicalMemoryMb() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+
+    /**
+     * Hard cap on threads: unlike the built-in fixed strategy, the pool may not grow compensation
+     * threads when workers block on WebDriver calls, because each extra thread would start another browser.
+     */
+    private static final class FixedConfiguration implements ParallelExecutionConfiguration {
+
+        private final int parallelism;
+
+        FixedConfiguration(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            return pool -> true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.automation.tests.parallel;
+
+import com.company.automation.tests.scheduling.Sharding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how each Cucumber worker thread spends its time and classifies the run as
+ * CPU-, browser- or AUT-bound.
+ *
+ * Per worker it tracks:
+ *  - busy: wall time spent inside scenarios (vs. the whole run -> utilization)
+ *  - cpu: thread CPU time inside scenarios (test code, JSON, logging, screenshots)
+ *  - browser: time in hooks, i.e. leasing/starting, resetting and returning browsers
+ *  - aut: the rest of the step time, which is spent blocked on WebDriver calls waiting for the page
+ *
+ * The summary is logged and written to target/worker-utilization.json (target/shard-&lt;index&gt;/ in a sharded
+ * run) when the run finishes.
+ * Being a ConcurrentEventListener, events arrive on the worker thread that produced them.
+ */
+public class WorkerUtilizationPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerUtilizationPlugin.class);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<String, WorkerStats> workers = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> scenarioStart = new ThreadLocal<>();
+    private volatile Instant runStarted;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStarted = event.getInstant());
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        scenarioStart.set(new long[]{System.nanoTime(), currentThreadCpuNanos()});
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof HookTestStep) {
+            current().browserNanos += event.getResult().getDuration().toNanos();
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        long[] start = scenarioStart.get();
+        if (start == null) {
+            return;
+        }
+        scenarioStart.remove();
+        WorkerStats stats = current();
+        stats.scenarios++;
+        stats.busyNanos += System.nanoTime() - start[0];
+        stats.cpuNanos += Math.max(0, currentThreadCpuNanos() - start[1]);
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        if (runStarted == null || workers.isEmpty()) {
+            return;
+        }
+        long wallNanos = Duration.between(runStarted, event.getInstant()).toNanos();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        WorkerStats total = new WorkerStats();
+        for (Map.Entry<String, WorkerStats> entry : workers.entrySet()) {
+            WorkerStats stats = entry.getValue();
+            total.add(stats);
+            Map<String, Object> row = stats.toMap(wallNanos);
+            row.put("worker", entry.getKey());
+            rows.add(row);
+            log.info("[Parallel] {}: {}", entry.getKey(), row);
+        }
+
+        Map<String, Object> summary = total.toMap(wallNanos * workers.size());
+        summary.put("workers", workers.size());
+        summary.put("wallMillis", wallNanos / 1_000_000);
+        log.info("[Parallel] Overall: {}", summary);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("summary", summary);
+        report.put("workers", rows);
+        File output = Sharding.outputDir().resolve("worker-utilization.json").toFile();
+        try {
+            output.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+        } catch (IOException e) {
+            log.warn("[Parallel] Could not write {}: {}", output, e.getMessage());
+        }
+    }
+
+    private WorkerStats current() {
+        return workers.computeIfAbsent(Thread.currentThread().getName(), name -> new WorkerStats());
+    }
+
+    private long currentThreadCpuNanos() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * Written only by its own worker thread; read after the run has finished.
+     */
+    private static final class WorkerStats {
+        long scenarios;
+        long busyNanos;
+        long cpuNanos;
+        long browserNanos;
+
+        void add(WorkerStats other) {
+            scenarios += other.scenarios;
+            busyNanos += other.busyNanos;
+            cpuNanos += other.cpuNanos;
+            browserNanos += other.browserNanos;
+        }
+
+        Map<String, Object> toMap(long availableNanos) {
+            long autNanos = Math.max(0, busyNanos - cpuNanos - browserNanos);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scenarios", scenarios);
+            map.put("utilization", ratio(busyNanos, availableNanos));
+            map.put("cpuShare", ratio(cpuNanos, busyNanos));
+            map.put("browserShare", ratio(browserNanos, busyNanos));
+            map.put("autShare", ratio(autNanos, busyNanos));
+            map.put("bound", classify(availableNanos, autNanos));
+            return map;
+        }
+
+        private String classify(long availableNanos, long autNanos) {
+            if (busyNanos < availableNanos * 0.7) {
+                return "IDLE";
+            }
+            if (cpuNanos >= browserNanos && cpuNanos >= autNanos) {
+                return "CPU";
+            }
+            return browserNanos >= autNanos ? "BROWSER" : "AUT";
+        }
+
+        private static double ratio(long part, long whole) {
+            return whole <= 0 ? 0.0 : Math.round(part * 1000.0 / whole) / 1000.0;
+        }
+    }
+}
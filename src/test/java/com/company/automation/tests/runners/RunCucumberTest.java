@@ -23,7 +23,10 @@ import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_N
 )
 @ConfigurationParameter(
         key = PLUGIN_PROPERTY_NAME,
-        value = "pretty, summary, io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+        value = "pretty, summary, io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm, "
+                + "com.company.automation.tests.parallel.WorkerUtilizationPlugin, "
+                + "com.company.automation.tests.metrics.StepTimingPlugin, "
+                + "com.company.automation.tests.scheduling.ScenarioSchedulePlugin"
 )
 @ConfigurationParameter(
         key = FILTER_TAGS_PROPERTY_NAME,
@@ -0,0 +1,148 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps only the scenarios a change can affect, when running with -Dimpact.base=&lt;git ref&gt; (e.g. origin/main)
+ * or -Dimpact.changed=&lt;comma-separated paths&gt;.
+ *
+ * With impact.base the changed files are those that differ between the working tree and the merge base of that
+ * ref and HEAD, plus untracked files. {@link ImpactIndex} maps them to scenarios. Files matching impact.ignore
+ * (a regex, default: Markdown, IDE settings, logs, the benchmarks module and the bundled Allure CLI) select
+ * nothing; a change the index cannot place (pom.xml, resources, a deleted class) or a diff that cannot be read
+ * runs everything.
+ *
+ * Registered through META-INF/services; a no-op unless impact.base or impact.changed is set. Combined with
+ * sharding, only the selected scenarios are partitioned ({@link ShardFilter}).
+ */
+public class ImpactFilter implements PostDiscoveryFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ImpactFilter.class);
+
+    private static final String DEFAULT_IGNORE = ".*\\.md|\\.idea/.*|logs/.*|benchmarks/.*|allure-[^/]*/.*";
+    private static final String DEFAULT_GLUE = "com.company.automation.tests.stepdefs";
+    private static final long GIT_TIMEOUT_SECONDS = 30;
+
+    private static ImpactIndex.Selection selection;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!isEnabled()) {
+            return FilterResult.included("impact selection off");
+        }
+        Optional<String> key = LongestFirstOrderingFilter.scenarioKey(descriptor.getUniqueId());
+        if (!descriptor.isTest() || key.isEmpty()) {
+            return FilterResult.included("container");
+        }
+        return selection().includes(key.get())
+                ? FilterResult.included("affected by the change")
+                : FilterResult.excluded("not affected by the change");
+    }
+
+    public static boolean isEnabled() {
+        return !System.getProperty("impact.base", "").isBlank() || !System.getProperty("impact.changed", "").isBlank();
+    }
+
+    /**
+     * True when the scenario runs under impact selection (always, when selection is off).
+     */
+    static boolean selects(String scenarioKey) {
+        return !isEnabled() || selection().includes(scenarioKey);
+    }
+
+    static synchronized ImpactIndex.Selection selection() {
+        if (selection == null) {
+            selection = computeSelection();
+        }
+        return selection;
+    }
+
+    private static ImpactIndex.Selection computeSelection() {
+        long start = System.nanoTime();
+        List<String> changed;
+        ImpactIndex index;
+        try {
+            changed = changedFiles();
+            index = ImpactIndex.refresh(Paths.get("").toAbsolutePath(), ImpactIndex.defaultFile());
+        } catch (IOException | RuntimeException e) {
+            log.warn("[Impact] Running all scenarios, change set unavailable: {}", e.getMessage());
+            return ImpactIndex.Selection.all("change set unavailable");
+        }
+
+        Pattern ignore = Pattern.compile(System.getProperty("impact.ignore", DEFAULT_IGNORE));
+        List<String> relevant = changed.stream()
+                .filter(path -> !ignore.matcher(path).matches())
+                .collect(Collectors.toList());
+        String glue = System.getProperty("cucumber.glue", DEFAULT_GLUE).split(",")[0].trim();
+        ImpactIndex.Selection result = index.select(relevant, glue);
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (result.isAll()) {
+            log.info("[Impact] {} changed file(s), running all scenarios: {} ({}ms)", changed.size(), result.reason(), millis);
+        } else {
+            log.info("[Impact] {} changed file(s) ({} relevant): {} of {} scenario(s) affected ({}ms)",
+                    changed.size(), relevant.size(), result.selectedCount(), result.knownCount(), millis);
+        }
+        log.debug("[Impact] Changed files: {}", changed);
+        return result;
+    }
+
+    private static List<String> changedFiles() throws IOException {
+        String listed = System.getProperty("impact.changed", "");
+        if (!listed.isBlank()) {
+            return Arrays.stream(listed.split(","))
+                    .map(String::trim)
+                    .filter(path -> !path.isEmpty())
+                    .collect(Collectors.toList());
+        }
+        String base = System.getProperty("impact.base").trim();
+        String mergeBase = git("merge-base", base, "HEAD").get(0);
+        List<String> files = new ArrayList<>(git("diff", "--name-only", "--relative", mergeBase));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return files;
+    }
+
+    /**
+     * Output lines of a git command run in the working directory; paths come out relative to it.
+     */
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        Collections.addAll(command, args);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException(String.join(" ", command) + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + String.join(" ", command), e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException(String.join(" ", command) + " failed: " + output.trim());
+        }
+        return output.lines().filter(line -> !line.isBlank()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,638 @@
+package com.company.automation.tests.scheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.cucumberexpressions.Expression;
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleStep;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.TableRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Which scenarios a change to a source or feature file can affect, for impact-based selection ({@link ImpactFilter}).
+ *
+ * Built from the working tree, no compiled classes needed:
+ *  - features: every scenario (each example row separately) with its steps, parsed with Gherkin and keyed like
+ *    the duration history ("classpath:features/login.feature:4")
+ *  - glue classes: their step expressions and whether they declare scenario hooks (@Before, @After, ...)
+ *  - every Java source under src/main/java and src/test/java: the project classes it references
+ * A scenario depends on the glue classes whose expressions match its steps, on every glue class with scenario hooks
+ * and on everything those classes reach, e.g. LoginStepDefs -&gt; LoginPage -&gt; BasePage -&gt; WaitEngine. Suite hooks
+ * (@BeforeAll, @AfterAll) run once whatever is selected, so what only they reference selects nothing by itself.
+ * References are found textually (imports, same-package and qualified type names outside comments and strings),
+ * which errs on the side of running a scenario.
+ *
+ * The index is cached as JSON (impact.index.file, default target/impact-index.json) with each file's size and
+ * modification time; a refresh parses only the files that changed since.
+ */
+public final class ImpactIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ImpactIndex.class);
+
+    private static final int VERSION = 1;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java", "src/test/java");
+    private static final String RESOURCE_ROOT = "src/test/resources";
+
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern IMPORT =
+            Pattern.compile("^\\s*import\\s+(static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;", Pattern.MULTILINE);
+    private static final Pattern TYPE_NAME = Pattern.compile("\\b[A-Z]\\w*");
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("\\b[a-z_]\\w*(?:\\.[a-z_]\\w*)*\\.[A-Z]\\w*");
+    private static final Pattern STEP_ANNOTATION = Pattern.compile("@(?:Given|When|Then|And|But)\\s*\\(");
+    private static final Pattern STEP_LITERAL =
+            Pattern.compile("@(?:Given|When|Then|And|But)\\s*\\(\\s*(?:value\\s*=\\s*)?\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)");
+    private static final Pattern SCENARIO_HOOK = Pattern.compile("@(?:Before|After|BeforeStep|AfterStep)\\b");
+    private static final Pattern SUITE_HOOK = Pattern.compile("@(?:BeforeAll|AfterAll)\\b");
+
+    private final Path projectDir;
+    private final Stored stored;
+
+    private ImpactIndex(Path projectDir, Stored stored) {
+        this.projectDir = projectDir;
+        this.stored = stored;
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("impact.index.file", "target/impact-index.json"));
+    }
+
+    /**
+     * Load the cached index, bring it up to date with the files under {@code projectDir} and write it back
+     * if anything changed. An unreadable cache is rebuilt from scratch.
+     */
+    public static ImpactIndex refresh(Path projectDir, Path file) throws IOException {
+        long start = System.nanoTime();
+        Stored stored = null;
+        if (Files.isRegularFile(file)) {
+            try {
+                stored = MAPPER.readValue(file.toFile(), Stored.class);
+            } catch (IOException e) {
+                log.warn("[Impact] Rebuilding unreadable index {}: {}", file, e.getMessage());
+            }
+        }
+        if (stored == null || stored.version != VERSION) {
+            stored = new Stored();
+        }
+
+        ImpactIndex index = new ImpactIndex(projectDir, stored);
+        int changed = index.refreshSources() + index.refreshFeatures();
+        if (changed > 0 || !Files.isRegularFile(file)) {
+            index.save(file);
+        }
+        log.info("[Impact] Index of {} source(s) and {} feature(s) ready in {}ms ({} file(s) changed)",
+                stored.sources.size(), stored.features.size(), (System.nanoTime() - start) / 1_000_000, changed);
+        return index;
+    }
+
+    /**
+     * Scenarios affected by the changed files (paths relative to the project directory), given the package
+     * holding the step definitions and hooks.
+     */
+    public Selection select(Collection<String> changedPaths, String gluePackage) {
+        Set<String> changedClasses = new HashSet<>();
+        Set<String> changedFeatures = new HashSet<>();
+        for (String raw : changedPaths) {
+            String path = raw.replace('\\', '/');
+            SourceEntry source = stored.sources.get(path);
+            FeatureEntry feature = stored.features.get(path);
+            if (source != null) {
+                changedClasses.add(source.className);
+            } else if (feature != null) {
+                changedFeatures.add(feature.uri);
+            } else if (!(path.endsWith(".feature") && path.startsWith(RESOURCE_ROOT + "/"))) {
+                // A removed feature has no scenarios left to run; anything else may affect all of them.
+                return Selection.all(path + " is not covered by the index");
+            }
+        }
+
+        Set<String> affected = affectedClasses(changedClasses);
+        Map<String, List<Expression>> affectedGlue = new HashMap<>();
+        Map<String, List<Expression>> allGlue = new HashMap<>();
+        for (SourceEntry source : stored.sources.values()) {
+            if (!source.className.startsWith(gluePackage + ".")) {
+                continue;
+            }
+            if (source.scenarioHooks && affected.contains(source.className)) {
+                return Selection.all("scenario hooks in " + simpleName(source.className) + " reach a change");
+            }
+            List<Expression> expressions = source.allSteps ? null : compile(source);
+            allGlue.put(source.className, expressions);
+            if (affected.contains(source.className)) {
+                affectedGlue.put(source.className, expressions);
+            }
+        }
+
+        Set<String> known = new HashSet<>();
+        Set<String> selected = new HashSet<>();
+        for (FeatureEntry feature : stored.features.values()) {
+            for (Map.Entry<Integer, List<String>> scenario : feature.scenarios.entrySet()) {
+                String key = ScenarioDurationStore.key(feature.uri, scenario.getKey());
+                known.add(key);
+                if (changedFeatures.contains(feature.uri) || !feature.parsed
+                        || anyStepMatches(scenario.getValue(), affectedGlue)
+                        // A step nothing matches any more (e.g. an edited expression) must fail visibly
+                        || scenario.getValue().stream().anyMatch(step -> !matches(step, allGlue.values()))) {
+                    selected.add(key);
+                }
+            }
+        }
+        return new Selection(false, null, known, selected);
+    }
+
+    private Set<String> affectedClasses(Set<String> changedClasses) {
+        Map<String, SourceEntry> byClass = new HashMap<>();
+        for (SourceEntry source : stored.sources.values()) {
+            byClass.put(source.className, source);
+        }
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (SourceEntry source : byClass.values()) {
+            for (String dependency : dependencies(source, byClass.keySet())) {
+                dependents.computeIfAbsent(dependency, key -> new HashSet<>()).add(source.className);
+            }
+        }
+
+        Set<String> affected = new HashSet<>(changedClasses);
+        Deque<String> queue = new ArrayDeque<>(changedClasses);
+        while (!queue.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (affected.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Project classes a source refers to: used imports, static imports, qualified names, and simple names
+     * resolving in its own package or a wildcard-imported one.
+     */
+    private static Set<String> dependencies(SourceEntry source, Set<String> classes) {
+        Set<String> names = new HashSet<>(source.names);
+        String ownPackage = packageOf(source.className);
+        Set<String> result = new HashSet<>();
+        for (String imported : source.imports) {
+            if (names.contains(simpleName(imported))) {
+                addProjectClass(imported, classes, result);
+            }
+        }
+        for (String imported : source.staticImports) {
+            addProjectClass(imported, classes, result);
+        }
+        for (String name : names) {
+            if (name.indexOf('.') >= 0) {
+                addProjectClass(name, classes, result);
+                continue;
+            }
+            addProjectClass(ownPackage.isEmpty() ? name : ownPackage + "." + name, classes, result);
+            for (String imported : source.packageImports) {
+                addProjectClass(imported + "." + name, classes, result);
+            }
+        }
+        result.remove(source.className);
+        return result;
+    }
+
+    /**
+     * Adds the top-level project class {@code name} denotes, stripping nested class or member segments.
+     */
+    private static void addProjectClass(String name, Set<String> classes, Set<String> result) {
+        String candidate = name;
+        while (true) {
+            if (classes.contains(candidate)) {
+                result.add(candidate);
+                return;
+            }
+            int dot = candidate.lastIndexOf('.');
+            if (dot < 0) {
+                return;
+            }
+            candidate = candidate.substring(0, dot);
+        }
+    }
+
+    private static boolean anyStepMatches(List<String> steps, Map<String, List<Expression>> glue) {
+        for (String step : steps) {
+            if (matches(step, glue.values())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String step, Collection<List<Expression>> glue) {
+        for (List<Expression> expressions : glue) {
+            if (expressions == null) {
+                // Steps we could not read match everything
+                return true;
+            }
+            for (Expression expression : expressions) {
+                if (expression.match(step) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<Expression> compile(SourceEntry source) {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+        List<Expression> expressions = new ArrayList<>();
+        for (String step : source.steps) {
+            try {
+                expressions.add(factory.createExpression(step));
+            } catch (RuntimeException e) {
+                // e.g. a custom {parameter type} this index does not know: match every step
+                return null;
+            }
+        }
+        return expressions;
+    }
+
+    private int refreshSources() throws IOException {
+        Map<String, SourceEntry> sources = new TreeMap<>();
+        int parsed = 0;
+        for (String root : SOURCE_ROOTS) {
+            for (Path file : list(projectDir.resolve(root), ".java")) {
+                String path = relative(file);
+                long size = Files.size(file);
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                SourceEntry entry = stored.sources.get(path);
+                if (entry == null || entry.size != size || entry.modified != modified) {
+                    entry = parseSource(file);
+                    entry.size = size;
+                    entry.modified = modified;
+                    parsed++;
+                }
+                sources.put(path, entry);
+            }
+        }
+        int removed = (int) stored.sources.keySet().stream().filter(path -> !sources.containsKey(path)).count();
+        stored.sources = sources;
+        return parsed + removed;
+    }
+
+    private int refreshFeatures() throws IOException {
+        Map<String, FeatureEntry> features = new TreeMap<>();
+        int parsed = 0;
+        Path resources = projectDir.resolve(RESOURCE_ROOT);
+        for (Path file : list(resources, ".feature")) {
+            String path = relative(file);
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            FeatureEntry entry = stored.features.get(path);
+            if (entry == null || entry.size != size || entry.modified != modified) {
+                entry = parseFeature(file, "classpath:" + resources.relativize(file).toString().replace('\\', '/'));
+                entry.size = size;
+                entry.modified = modified;
+                parsed++;
+            }
+            features.put(path, entry);
+        }
+        int removed = (int) stored.features.keySet().stream().filter(path -> !features.containsKey(path)).count();
+        stored.features = features;
+        return parsed + removed;
+    }
+
+    private static SourceEntry parseSource(Path file) throws IOException {
+        String text = Files.readString(file);
+        SourceEntry entry = new SourceEntry();
+
+        Matcher packageMatcher = PACKAGE.matcher(text);
+        String packageName = packageMatcher.find() ? packageMatcher.group(1) : "";
+        String fileName = file.getFileName().toString();
+        String typeName = fileName.substring(0, fileName.length() - ".java".length());
+        entry.className = packageName.isEmpty() ? typeName : packageName + "." + typeName;
+
+        // Step expressions are string literals, so they are read before literals are blanked out
+        Matcher steps = STEP_LITERAL.matcher(text);
+        while (steps.find()) {
+            entry.steps.add(unescape(steps.group(1)));
+        }
+
+        String code = stripSuiteHooks(stripCommentsAndLiterals(text));
+        Matcher annotations = STEP_ANNOTATION.matcher(code);
+        int annotationCount = 0;
+        while (annotations.find()) {
+            annotationCount++;
+        }
+        entry.allSteps = annotationCount != entry.steps.size();
+        entry.scenarioHooks = SCENARIO_HOOK.matcher(code).find();
+
+        Matcher imports = IMPORT.matcher(code);
+        while (imports.find()) {
+            String name = imports.group(2);
+            if (imports.group(1) != null) {
+                // import static a.b.C.member / a.b.C.*
+                entry.staticImports.add(imports.group(3) != null ? name : packageOf(name));
+            } else if (imports.group(3) != null) {
+                entry.packageImports.add(name);
+            } else {
+                entry.imports.add(name);
+            }
+        }
+
+        String body = IMPORT.matcher(PACKAGE.matcher(code).replaceAll("")).replaceAll("");
+        Set<String> names = new LinkedHashSet<>();
+        Matcher qualified = QUALIFIED_NAME.matcher(body);
+        while (qualified.find()) {
+            names.add(qualified.group());
+        }
+        Matcher typeNames = TYPE_NAME.matcher(body);
+        while (typeNames.find()) {
+            names.add(typeNames.group());
+        }
+        names.remove(typeName);
+        entry.names.addAll(names);
+        return entry;
+    }
+
+    private static FeatureEntry parseFeature(Path file, String uri) throws IOException {
+        FeatureEntry entry = new FeatureEntry();
+        entry.uri = uri;
+        Map<String, Integer> lines = new HashMap<>();
+        List<Pickle> pickles = new ArrayList<>();
+        GherkinParser parser = GherkinParser.builder().includeSource(false).build();
+        try (Stream<Envelope> envelopes = parser.parse(file)) {
+            envelopes.forEach(envelope -> {
+                envelope.getGherkinDocument().flatMap(GherkinDocument::getFeature)
+                        .ifPresent(feature -> collectLines(feature, lines));
+                envelope.getPickle().ifPresent(pickles::add);
+                if (envelope.getParseError().isPresent()) {
+                    entry.parsed = false;
+                }
+            });
+        }
+        for (Pickle pickle : pickles) {
+            List<String> nodes = pickle.getAstNodeIds();
+            // [scenario] or [scenario outline, example row]: the key line is the row's
+            Integer line = nodes.isEmpty() ? null : lines.get(nodes.get(nodes.size() - 1));
+            if (line == null) {
+                entry.parsed = false;
+                continue;
+            }
+            entry.scenarios.put(line, pickle.getSteps().stream().map(PickleStep::getText).collect(Collectors.toList()));
+        }
+        return entry;
+    }
+
+    private static void collectLines(Feature feature, Map<String, Integer> lines) {
+        for (FeatureChild child : feature.getChildren()) {
+            child.getScenario().ifPresent(scenario -> collectLines(scenario, lines));
+            child.getRule().ifPresent(rule -> {
+                for (RuleChild ruleChild : rule.getChildren()) {
+                    ruleChild.getScenario().ifPresent(scenario -> collectLines(scenario, lines));
+                }
+            });
+        }
+    }
+
+    private static void collectLines(Scenario scenario, Map<String, Integer> lines) {
+        lines.put(scenario.getId(), scenario.getLocation().getLine().intValue());
+        scenario.getExamples().forEach(examples -> {
+            for (TableRow row : examples.getTableBody()) {
+                lines.put(row.getId(), row.getLocation().getLine().intValue());
+            }
+        });
+    }
+
+    /**
+     * Blanks out comments and string, text block and char literals (keeping line breaks), so names inside
+     * them are not mistaken for references.
+     */
+    static String stripCommentsAndLiterals(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            int end;
+            if (c == '/' && i + 1 < n && text.charAt(i + 1) == '/') {
+                end = text.indexOf('\n', i);
+                end = end < 0 ? n : end;
+            } else if (c == '/' && i + 1 < n && text.charAt(i + 1) == '*') {
+                end = text.indexOf("*/", i + 2);
+                end = end < 0 ? n : end + 2;
+            } else if (text.startsWith("\"\"\"", i)) {
+                end = text.indexOf("\"\"\"", i + 3);
+                end = end < 0 ? n : end + 3;
+            } else if (c == '"' || c == '\'') {
+                end = i + 1;
+                while (end < n && text.charAt(end) != c && text.charAt(end) != '\n') {
+                    end += text.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end + 1, n);
+            } else {
+                out.append(c);
+                i++;
+                continue;
+            }
+            for (int j = i; j < end; j++) {
+                out.append(text.charAt(j) == '\n' ? '\n' : ' ');
+            }
+            i = end;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Removes @BeforeAll/@AfterAll methods (annotation to closing brace) from code without comments and literals.
+     */
+    private static String stripSuiteHooks(String code) {
+        Matcher hook = SUITE_HOOK.matcher(code);
+        StringBuilder out = new StringBuilder();
+        int copied = 0;
+        while (hook.find(copied)) {
+            int open = code.indexOf('{', hook.end());
+            if (open < 0) {
+                break;
+            }
+            int depth = 0;
+            int close = open;
+            for (; close < code.length(); close++) {
+                char c = code.charAt(close);
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}' && --depth == 0) {
+                    break;
+                }
+            }
+            out.append(code, copied, hook.start());
+            copied = Math.min(close + 1, code.length());
+        }
+        return out.append(code.substring(copied)).toString();
+    }
+
+    private static String unescape(String literal) {
+        StringBuilder out = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '\\' && i + 1 < literal.length()) {
+                char next = literal.charAt(++i);
+                switch (next) {
+                    case 'n':
+                        out.append('\n');
+                        break;
+                    case 't':
+                        out.append('\t');
+                        break;
+                    default:
+                        out.append(next);
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private List<Path> list(Path root, String suffix) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> file.toString().endsWith(suffix) && Files.isRegularFile(file))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private String relative(Path file) {
+        return projectDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, ".impact-index", ".tmp");
+        MAPPER.writeValue(tmp.toFile(), stored);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String packageOf(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot < 0 ? "" : className.substring(0, dot);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * The scenarios to run: everything, or the selected keys. Scenarios the index does not know are always run.
+     */
+    public static final class Selection {
+
+        private final boolean all;
+        private final String reason;
+        private final Set<String> known;
+        private final Set<String> selected;
+
+        private Selection(boolean all, String reason, Set<String> known, Set<String> selected) {
+            this.all = all;
+            this.reason = reason;
+            this.known = known;
+            this.selected = selected;
+        }
+
+        static Selection all(String reason) {
+            return new Selection(true, reason, Collections.emptySet(), Collections.emptySet());
+        }
+
+        public boolean isAll() {
+            return all;
+        }
+
+        /**
+         * Why everything runs, or null.
+         */
+        public String reason() {
+            return reason;
+        }
+
+        public boolean includes(String scenarioKey) {
+            return all || selected.contains(scenarioKey) || !known.contains(scenarioKey);
+        }
+
+        public int selectedCount() {
+            return selected.size();
+        }
+
+        public int knownCount() {
+            return known.size();
+        }
+    }
+
+    /**
+     * The cache file. Public fields for Jackson.
+     */
+    public static final class Stored {
+        public int version = VERSION;
+        public Map<String, SourceEntry> sources = new TreeMap<>();
+        public Map<String, FeatureEntry> features = new TreeMap<>();
+    }
+
+    /**
+     * One Java source file, keyed by its path.
+     */
+    public static final class SourceEntry {
+        public long size;
+        public long modified;
+        public String className;
+        public List<String> imports = new ArrayList<>();
+        public List<String> packageImports = new ArrayList<>();
+        public List<String> staticImports = new ArrayList<>();
+        /** Type names used in the code, simple or qualified. */
+        public List<String> names = new ArrayList<>();
+        /** Step expressions declared in this class. */
+        public List<String> steps = new ArrayList<>();
+        /** Step annotations without a literal expression: the class may match any step. */
+        public boolean allSteps;
+        public boolean scenarioHooks;
+    }
+
+    /**
+     * One feature file, keyed by its path: steps per scenario (or example row) line.
+     */
+    public static final class FeatureEntry {
+        public long size;
+        public long modified;
+        public String uri;
+        public boolean parsed = true;
+        public Map<Integer, List<String>> scenarios = new TreeMap<>();
+    }
+}
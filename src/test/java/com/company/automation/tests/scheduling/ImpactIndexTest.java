@@ -0,0 +1,200 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scenario selection for a change, on a small project: pages, step definitions, a hook class and two features.
+ */
+class ImpactIndexTest {
+
+    private static final String GLUE = "com.acme.steps";
+    private static final String LOGIN = "classpath:features/login.feature";
+    private static final String CART = "classpath:features/cart.feature";
+    private static final List<String> ALL_SCENARIOS =
+            List.of(LOGIN + ":3", LOGIN + ":11", LOGIN + ":12", CART + ":3");
+
+    @TempDir
+    Path project;
+
+    private ImpactIndex index;
+
+    @BeforeEach
+    void createProject() throws IOException {
+        write("src/main/java/com/acme/pages/BasePage.java",
+                "package com.acme.pages;",
+                "public abstract class BasePage {",
+                "}");
+        write("src/main/java/com/acme/pages/LoginPage.java",
+                "package com.acme.pages;",
+                "// CartPage is only mentioned in this comment",
+                "public class LoginPage extends BasePage {",
+                "    String title = \"CartPage\";",
+                "}");
+        write("src/main/java/com/acme/pages/CartPage.java",
+                "package com.acme.pages;",
+                "public class CartPage extends BasePage {",
+                "}");
+        write("src/main/java/com/acme/reporting/SuiteReport.java",
+                "package com.acme.reporting;",
+                "public class SuiteReport {",
+                "}");
+        write("src/test/java/com/acme/steps/LoginSteps.java",
+                "package com.acme.steps;",
+                "import com.acme.pages.LoginPage;",
+                "import io.cucumber.java.en.Given;",
+                "public class LoginSteps {",
+                "    @Given(\"I log in as {string}\")",
+                "    public void logIn(String user) {",
+                "        new LoginPage();",
+                "    }",
+                "}");
+        write("src/test/java/com/acme/steps/CartSteps.java",
+                "package com.acme.steps;",
+                "import com.acme.pages.*;",
+                "import io.cucumber.java.en.When;",
+                "public class CartSteps {",
+                "    @When(\"I open the cart\")",
+                "    public void openCart() {",
+                "        new CartPage();",
+                "    }",
+                "}");
+        write("src/test/java/com/acme/steps/Hooks.java",
+                "package com.acme.steps;",
+                "import com.acme.reporting.SuiteReport;",
+                "import io.cucumber.java.AfterAll;",
+                "public class Hooks {",
+                "    @AfterAll",
+                "    public static void report() {",
+                "        new SuiteReport();",
+                "    }",
+                "}");
+        write("src/test/resources/features/login.feature",
+                "Feature: Login",
+                "",
+                "  Scenario: Standard user",
+                "    Given I log in as \"standard_user\"",
+                "",
+                "  Scenario Outline: Other users",
+                "    Given I log in as \"<user>\"",
+                "",
+                "    Examples:",
+                "      | user    |",
+                "      | problem |",
+                "      | glitch  |");
+        write("src/test/resources/features/cart.feature",
+                "Feature: Cart",
+                "",
+                "  Scenario: Open the cart",
+                "    Given I log in as \"standard_user\"",
+                "    When I open the cart");
+        index = ImpactIndex.refresh(project, project.resolve("target/impact-index.json"));
+    }
+
+    @Test
+    void changedPageSelectsScenariosWhoseStepsReachIt() {
+        ImpactIndex.Selection selection = index.select(List.of("src/main/java/com/acme/pages/CartPage.java"), GLUE);
+
+        // LoginPage names CartPage only in a comment and a string, so the login steps do not reach it
+        assertFalse(selection.isAll());
+        assertEquals(Set.of(CART + ":3"), selected(selection));
+        assertEquals(4, selection.knownCount());
+    }
+
+    @Test
+    void changedBaseClassReachesEveryPage() {
+        ImpactIndex.Selection selection = index.select(List.of("src/main/java/com/acme/pages/BasePage.java"), GLUE);
+
+        assertEquals(new TreeSet<>(ALL_SCENARIOS), selected(selection));
+    }
+
+    @Test
+    void changedFeatureSelectsOnlyItsScenarios() {
+        ImpactIndex.Selection selection = index.select(List.of("src/test/resources/features/login.feature"), GLUE);
+
+        assertEquals(Set.of(LOGIN + ":3", LOGIN + ":11", LOGIN + ":12"), selected(selection));
+    }
+
+    @Test
+    void classOnlyUsedBySuiteHooksSelectsNothing() {
+        ImpactIndex.Selection selection =
+                index.select(List.of("src/main/java/com/acme/reporting/SuiteReport.java"), GLUE);
+
+        assertFalse(selection.isAll());
+        assertEquals(Set.of(), selected(selection));
+    }
+
+    @Test
+    void deletedFeatureSelectsNothing() {
+        ImpactIndex.Selection selection = index.select(List.of("src/test/resources/features/gone.feature"), GLUE);
+
+        assertFalse(selection.isAll());
+        assertEquals(Set.of(), selected(selection));
+    }
+
+    @Test
+    void fileOutsideTheIndexSelectsEverything() {
+        ImpactIndex.Selection selection =
+                index.select(List.of("src/main/java/com/acme/pages/CartPage.java", "pom.xml"), GLUE);
+
+        assertTrue(selection.isAll());
+        assertTrue(selection.reason().contains("pom.xml"), selection.reason());
+        assertTrue(selection.includes(CART + ":3"));
+        assertTrue(selection.includes(LOGIN + ":3"));
+    }
+
+    @Test
+    void scenarioHooksReachingTheChangeSelectEverything() throws IOException {
+        write("src/test/java/com/acme/steps/ScreenshotHooks.java",
+                "package com.acme.steps;",
+                "import com.acme.pages.CartPage;",
+                "import io.cucumber.java.After;",
+                "public class ScreenshotHooks {",
+                "    @After",
+                "    public void capture() {",
+                "        new CartPage();",
+                "    }",
+                "}");
+        index = ImpactIndex.refresh(project, project.resolve("target/impact-index.json"));
+
+        ImpactIndex.Selection selection = index.select(List.of("src/main/java/com/acme/pages/CartPage.java"), GLUE);
+
+        assertTrue(selection.isAll());
+        assertTrue(selection.reason().contains("ScreenshotHooks"), selection.reason());
+    }
+
+    @Test
+    void scenariosTheIndexDoesNotKnowAlwaysRun() {
+        ImpactIndex.Selection selection = index.select(List.of("src/main/java/com/acme/pages/CartPage.java"), GLUE);
+
+        assertTrue(selection.includes("classpath:features/added-later.feature:7"));
+    }
+
+    private Set<String> selected(ImpactIndex.Selection selection) {
+        Set<String> selected = new TreeSet<>();
+        for (String key : ALL_SCENARIOS) {
+            if (selection.includes(key)) {
+                selected.add(key);
+            }
+        }
+        return selected;
+    }
+
+    private void write(String path, String... lines) throws IOException {
+        Path file = project.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, String.join("\n", lines) + "\n");
+    }
+}
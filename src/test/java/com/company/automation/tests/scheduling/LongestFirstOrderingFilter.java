@@ -0,0 +1,128 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reorders the discovered Cucumber tree so the longest work is queued first (longest-processing-time-first).
+ *
+ * Every container's children are sorted by their estimated total duration, descending: features by the sum
+ * of their scenarios, scenarios by their own estimate from {@link ScenarioDurationStore}. Idle workers steal
+ * from the front of the fork/join queue, so long scenarios start early instead of running alone at the end.
+ * Descriptors without Cucumber scenarios keep their order (the sort is stable). Nothing is ever excluded.
+ *
+ * Registered through META-INF/services; disable with -Dscheduler.enabled=false.
+ */
+public class LongestFirstOrderingFilter implements PostDiscoveryFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LongestFirstOrderingFilter.class);
+
+    /** Estimated millis per scenario key, as used for the ordering; read by the schedule report. */
+    private static final Map<String, Long> PLAN = new ConcurrentHashMap<>();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("scheduler.enabled", "true"));
+    private final Set<TestDescriptor> ordered = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<UniqueId, Long> costs = new HashMap<>();
+    private ScenarioDurationStore store;
+
+    static Map<String, Long> plan() {
+        return Collections.unmodifiableMap(PLAN);
+    }
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (!enabled) {
+            return FilterResult.included("scheduler disabled");
+        }
+        if (store == null) {
+            store = ScenarioDurationStore.load(ScenarioDurationStore.defaultFile());
+        }
+        // The launcher may not pass engine roots to the filter, so roots are ordered via their first child.
+        // Visiting copies a node's children only after the node itself, so reordering here is safe.
+        descriptor.getParent().filter(TestDescriptor::isRoot).ifPresent(this::orderChildren);
+        orderChildren(descriptor);
+        return FilterResult.included("ordered longest-first");
+    }
+
+    private void orderChildren(TestDescriptor container) {
+        if (!ordered.add(container) || container.getChildren().size() < 2) {
+            return;
+        }
+        List<TestDescriptor> children = new ArrayList<>(container.getChildren());
+        List<TestDescriptor> sorted = new ArrayList<>(children);
+        sorted.sort(Comparator.comparingLong(this::cost).reversed());
+        if (sorted.equals(children)) {
+            return;
+        }
+        for (TestDescriptor child : children) {
+            container.removeChild(child);
+        }
+        for (TestDescriptor child : sorted) {
+            container.addChild(child);
+        }
+        log.debug("[Scheduler] Ordered children of {} longest-first", container.getDisplayName());
+    }
+
+    private long cost(TestDescriptor descriptor) {
+        Long cached = costs.get(descriptor.getUniqueId());
+        if (cached != null) {
+            return cached;
+        }
+        long cost = 0;
+        Optional<String> key = scenarioKey(descriptor.getUniqueId());
+        if (descriptor.isTest() && key.isPresent()) {
+            List<String> tags = new ArrayList<>();
+            for (TestTag tag : descriptor.getTags()) {
+                tags.add(tag.getName());
+            }
+            cost = store.estimateMillis(key.get(), tags);
+            PLAN.put(key.get(), cost);
+        } else {
+            for (TestDescriptor child : descriptor.getChildren()) {
+                cost += cost(child);
+            }
+        }
+        costs.put(descriptor.getUniqueId(), cost);
+        return cost;
+    }
+
+    /**
+     * "feature uri:line" for a Cucumber scenario or example row, from the engine's unique id
+     * ([engine:cucumber]/[feature:classpath%3Afeatures%2Fx.feature]/[scenario:4]).
+     */
+    static Optional<String> scenarioKey(UniqueId id) {
+        String feature = null;
+        String line = null;
+        for (UniqueId.Segment segment : id.getSegments()) {
+            if ("feature".equals(segment.getType())) {
+                feature = segment.getValue();
+            } else if ("scenario".equals(segment.getType()) || "example".equals(segment.getType())) {
+                line = segment.getValue();
+            }
+        }
+        if (feature == null || line == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ScenarioDurationStore.key(feature, Integer.parseInt(line)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Longest-first ordering of a Cucumber-shaped tree, and the scenario keys it is based on.
+ */
+class LongestFirstOrderingFilterTest {
+
+    private static final String LOGIN = "classpath:features/login.feature";
+    private static final String CART = "classpath:features/cart.feature";
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void useHistory() throws IOException {
+        Path history = dir.resolve("durations.json");
+        Files.writeString(history, "{"
+                + "\"" + LOGIN + ":3\": {\"millis\": 1000, \"runs\": 1},"
+                + "\"" + LOGIN + ":9\": {\"millis\": 5000, \"runs\": 1},"
+                + "\"" + CART + ":4\": {\"millis\": 8000, \"runs\": 1}"
+                + "}");
+        System.setProperty("scheduler.history.file", history.toString());
+    }
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty("scheduler.history.file");
+        System.clearProperty("scheduler.enabled");
+    }
+
+    @Test
+    void scenarioKeyOfScenario() {
+        UniqueId id = UniqueId.parse("[engine:cucumber]/[feature:classpath%3Afeatures%2Flogin.feature]/[scenario:4]");
+
+        assertEquals(Optional.of(LOGIN + ":4"), LongestFirstOrderingFilter.scenarioKey(id));
+    }
+
+    @Test
+    void scenarioKeyOfExampleRowUsesTheRowLine() {
+        UniqueId id = UniqueId.parse("[engine:cucumber]/[feature:classpath%3Afeatures%2Flogin.feature]"
+                + "/[scenario:12]/[examples:15]/[example:17]");
+
+        assertEquals(Optional.of(LOGIN + ":17"), LongestFirstOrderingFilter.scenarioKey(id));
+    }
+
+    @Test
+    void scenarioKeyIsEmptyForContainersAndOtherEngines() {
+        UniqueId feature = UniqueId.parse("[engine:cucumber]/[feature:classpath%3Afeatures%2Flogin.feature]");
+        UniqueId jupiter = UniqueId.parse("[engine:junit-jupiter]/[class:a.BTest]/[method:c()]");
+        UniqueId badLine = UniqueId.parse("[engine:cucumber]/[feature:x.feature]/[scenario:abc]");
+
+        assertEquals(Optional.empty(), LongestFirstOrderingFilter.scenarioKey(feature));
+        assertEquals(Optional.empty(), LongestFirstOrderingFilter.scenarioKey(jupiter));
+        assertEquals(Optional.empty(), LongestFirstOrderingFilter.scenarioKey(badLine));
+    }
+
+    @Test
+    void ordersFeaturesAndScenariosByEstimatedDurationDescending() {
+        TestDescriptor root = ScenarioTree.engine();
+        TestDescriptor login = ScenarioTree.feature(root, LOGIN);
+        ScenarioTree.scenario(login, 3);
+        ScenarioTree.scenario(login, 9);
+        TestDescriptor cart = ScenarioTree.feature(root, CART);
+        ScenarioTree.scenario(cart, 4);
+
+        ScenarioTree.applyAll(new LongestFirstOrderingFilter(), root, new ArrayList<>());
+
+        // cart (8000) before login (1000 + 5000), and login's 9 before its 3
+        assertEquals(List.of(CART + ":4", LOGIN + ":9", LOGIN + ":3"), ScenarioTree.keys(root));
+    }
+
+    @Test
+    void keepsDiscoveryOrderForEqualEstimates() {
+        TestDescriptor root = ScenarioTree.engine();
+        TestDescriptor feature = ScenarioTree.feature(root, "classpath:features/new.feature");
+        // Not in the history: all get the same (average) estimate
+        ScenarioTree.scenario(feature, 20);
+        ScenarioTree.scenario(feature, 5);
+        ScenarioTree.scenario(feature, 11);
+
+        ScenarioTree.applyAll(new LongestFirstOrderingFilter(), root, new ArrayList<>());
+
+        assertEquals(List.of("classpath:features/new.feature:20", "classpath:features/new.feature:5",
+                "classpath:features/new.feature:11"), ScenarioTree.keys(root));
+    }
+
+    @Test
+    void includesEverythingAndKeepsOrderWhenDisabled() {
+        System.setProperty("scheduler.enabled", "false");
+        TestDescriptor root = ScenarioTree.engine();
+        TestDescriptor login = ScenarioTree.feature(root, LOGIN);
+        ScenarioTree.scenario(login, 3);
+        ScenarioTree.scenario(login, 9);
+        List<String> included = new ArrayList<>();
+
+        ScenarioTree.applyAll(new LongestFirstOrderingFilter(), root, included);
+
+        assertEquals(List.of(LOGIN + ":3", LOGIN + ":9"), ScenarioTree.keys(root));
+        assertEquals(List.of(LOGIN + ":3", LOGIN + ":9"), included);
+    }
+}
@@ -0,0 +1,178 @@
+package com.company.automation.tests.scheduling;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-scenario durations from previous runs, persisted as JSON in a local file that survives mvn clean
+ * (scheduler.history.file, default .scenario-durations.json).
+ *
+ * Scenarios are keyed by feature URI and line ("classpath:features/checkout.feature:4"). Durations are kept
+ * as an exponentially weighted average so one slow run does not dominate. Scenarios without history get a
+ * tag-based estimate: the slowest average among known scenarios sharing one of their tags, else the mean
+ * of all known scenarios.
+ */
+public final class ScenarioDurationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioDurationStore.class);
+
+    // Weight of the newest run in the moving average
+    private static final double ALPHA = 0.5;
+    // Used when there is no history at all
+    private static final long DEFAULT_ESTIMATE_MILLIS = 30_000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+
+    private ScenarioDurationStore(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("scheduler.history.file", ".scenario-durations.json"));
+    }
+
+    /**
+     * Load the history file; a missing or unreadable file is an empty history.
+     */
+    public static ScenarioDurationStore load(Path file) {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                entries.putAll(MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() { }));
+            } catch (IOException e) {
+                log.warn("[Scheduler] Ignoring unreadable duration history {}: {}", file, e.getMessage());
+            }
+        }
+        return new ScenarioDurationStore(file, entries);
+    }
+
+    public static String key(String featureUri, int line) {
+        return featureUri + ":" + line;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Known duration of a scenario, or null when it has never run.
+     */
+    public Long knownMillis(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.millis;
+    }
+
+    /**
+     * Known duration, or the tag-based estimate for a scenario that has not run yet.
+     */
+    public long estimateMillis(String key, Collection<String> tags) {
+        Long known = knownMillis(key);
+        if (known != null) {
+            return known;
+        }
+        long byTag = 0;
+        for (String tag : tags) {
+            long sum = 0;
+            int count = 0;
+            for (Entry entry : entries.values()) {
+                if (entry.tags.contains(tag)) {
+                    sum += entry.millis;
+                    count++;
+                }
+            }
+            if (count > 0) {
+                byTag = Math.max(byTag, sum / count);
+            }
+        }
+        if (byTag > 0) {
+            return byTag;
+        }
+        if (entries.isEmpty()) {
+            return DEFAULT_ESTIMATE_MILLIS;
+        }
+        return entries.values().stream().mapToLong(entry -> entry.millis).sum() / entries.size();
+    }
+
+    /**
+     * Replace a scenario's entry as-is, e.g. with the newer one from a shard's history.
+     */
+    public void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    public Map<String, Entry> entries() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    public void record(String key, String name, Collection<String> tags, long millis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entry.millis = millis;
+            entries.put(key, entry);
+        } else {
+            entry.millis = Math.round(ALPHA * millis + (1 - ALPHA) * entry.millis);
+        }
+        entry.name = name;
+        entry.tags = new ArrayList<>(tags);
+        entry.runs++;
+    }
+
+    /**
+     * Merge this run into the file. Other JVMs (shards, the second engine pass) may have written in the
+     * meantime, so entries this store did not touch are re-read first; the file is replaced atomically.
+     */
+    public void save(Collection<String> touchedKeys) {
+        save(file, touchedKeys);
+    }
+
+    /**
+     * Merge the touched entries into another file, e.g. a shard's slice of the history.
+     */
+    public synchronized void save(Path target, Collection<String> touchedKeys) {
+        try {
+            ScenarioDurationStore latest = load(target);
+            for (String key : touchedKeys) {
+                Entry entry = entries.get(key);
+                if (entry != null) {
+                    latest.entries.put(key, entry);
+                }
+            }
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, ".scenario-durations", ".tmp");
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), latest.entries);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[Scheduler] Could not write duration history {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * One scenario's history. Public fields for Jackson.
+     */
+    public static final class Entry {
+        public String name;
+        public List<String> tags = new ArrayList<>();
+        public long millis;
+        public int runs;
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.automation.tests.scheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the longest-first scheduler: records every scenario's duration into the history file and, when the
+ * run finishes, compares the makespan predicted from the estimates with the actual one.
+ *
+ * Predicted makespan = the estimates (as used by {@link LongestFirstOrderingFilter}) list-scheduled
+ * longest-first onto the number of workers that actually ran scenarios. The comparison is logged and written
+ * to target/schedule-report.json together with estimated vs. actual time per scenario.
+ *
+ * In a sharded run ({@link Sharding}) the report and the updated history entries go to target/shard-&lt;index&gt;/
+ * instead, and the shared history file is left for {@link ShardMerge} to update once all shards are done.
+ */
+public class ScenarioSchedulePlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioSchedulePlugin.class);
+    static final String REPORT_FILE = "schedule-report.json";
+    static final String HISTORY_FILE = "scenario-durations.json";
+
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final Set<String> workers = ConcurrentHashMap.newKeySet();
+    private volatile Instant firstStart;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        synchronized (this) {
+            if (firstStart == null || event.getInstant().isBefore(firstStart)) {
+                firstStart = event.getInstant();
+            }
+        }
+        workers.add(Thread.currentThread().getName());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        if (event.getResult().getStatus() == Status.SKIPPED) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        List<String> tags = new ArrayList<>();
+        for (String tag : testCase.getTags()) {
+            tags.add(tag.startsWith("@") ? tag.substring(1) : tag);
+        }
+        Run run = new Run();
+        run.name = testCase.getName();
+        run.tags = tags;
+        run.millis = event.getResult().getDuration().toMillis();
+        run.finished = event.getInstant();
+        runs.put(ScenarioDurationStore.key(testCase.getUri().toString(), testCase.getLocation().getLine()), run);
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        if (runs.isEmpty() || firstStart == null) {
+            return;
+        }
+        ScenarioDurationStore store = ScenarioDurationStore.load(ScenarioDurationStore.defaultFile());
+        Map<String, Long> plan = LongestFirstOrderingFilter.plan();
+
+        List<Long> estimates = new ArrayList<>();
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        Instant lastFinish = firstStart;
+        for (Map.Entry<String, Run> entry : runs.entrySet()) {
+            Run run = entry.getValue();
+            Long estimate = plan.get(entry.getKey());
+            if (estimate == null) {
+                estimate = store.estimateMillis(entry.getKey(), run.tags);
+            }
+            estimates.add(estimate);
+            if (run.finished.isAfter(lastFinish)) {
+                lastFinish = run.finished;
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scenario", entry.getKey());
+            row.put("name", run.name);
+            row.put("estimatedMillis", estimate);
+            row.put("actualMillis", run.millis);
+            scenarios.add(row);
+
+            store.record(entry.getKey(), run.name, run.tags, run.millis);
+        }
+        if (Sharding.isSharded()) {
+            store.save(Sharding.outputDir().resolve(HISTORY_FILE), runs.keySet());
+        } else {
+            store.save(runs.keySet());
+        }
+        scenarios.sort((a, b) -> Long.compare((Long) b.get("actualMillis"), (Long) a.get("actualMillis")));
+
+        int workerCount = Math.max(1, workers.size());
+        long predicted = longestFirstMakespan(estimates, workerCount);
+        long actual = lastFinish.toEpochMilli() - firstStart.toEpochMilli();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (Sharding.isSharded()) {
+            summary.put("shard", Sharding.index());
+            summary.put("shards", Sharding.total());
+        }
+        summary.put("workers", workerCount);
+        summary.put("scenarios", runs.size());
+        summary.put("predictedMakespanMillis", predicted);
+        summary.put("actualMakespanMillis", actual);
+        summary.put("predictionError", predicted == 0 ? 0.0 : Math.round((actual - predicted) * 1000.0 / predicted) / 1000.0);
+        log.info("[Scheduler] Makespan predicted {}ms vs actual {}ms on {} worker(s), {} scenario(s)",
+                predicted, actual, workerCount, runs.size());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("summary", summary);
+        report.put("scenarios", scenarios);
+        File output = Sharding.outputDir().resolve(REPORT_FILE).toFile();
+        try {
+            output.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+        } catch (IOException e) {
+            log.warn("[Scheduler] Could not write {}: {}", output, e.getMessage());
+        }
+    }
+
+    /**
+     * Greedy list scheduling, longest first, each job onto the least-loaded worker.
+     */
+    static long longestFirstMakespan(List<Long> durations, int workerCount) {
+        List<Long> sorted = new ArrayList<>(durations);
+        sorted.sort(Collections.reverseOrder());
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workerCount; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : sorted) {
+            long load = loads.poll() + duration;
+            makespan = Math.max(makespan, load);
+            loads.add(load);
+        }
+        return makespan;
+    }
+
+    private static final class Run {
+        String name;
+        List<String> tags;
+        long millis;
+        Instant finished;
+    }
+}
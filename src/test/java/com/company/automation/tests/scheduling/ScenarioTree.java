@@ -0,0 +1,82 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Descriptor trees shaped like the Cucumber engine's, for the discovery filter tests.
+ */
+final class ScenarioTree {
+
+    private ScenarioTree() {
+        // utility class
+    }
+
+    static EngineDescriptor engine() {
+        return new EngineDescriptor(UniqueId.forEngine("cucumber"), "Cucumber");
+    }
+
+    static TestDescriptor feature(TestDescriptor parent, String uri) {
+        return add(parent, new Node(parent.getUniqueId().append("feature", uri), TestDescriptor.Type.CONTAINER));
+    }
+
+    static TestDescriptor scenario(TestDescriptor feature, int line) {
+        return add(feature, new Node(feature.getUniqueId().append("scenario", String.valueOf(line)),
+                TestDescriptor.Type.TEST));
+    }
+
+    /**
+     * Applies the filter to every descriptor below the root, parents before children, like the launcher does.
+     */
+    static void applyAll(PostDiscoveryFilter filter, TestDescriptor root, List<String> includedKeys) {
+        for (TestDescriptor child : new ArrayList<>(root.getChildren())) {
+            boolean included = filter.apply(child).included();
+            Optional<String> key = LongestFirstOrderingFilter.scenarioKey(child.getUniqueId());
+            if (included && child.isTest() && key.isPresent()) {
+                includedKeys.add(key.get());
+            }
+            applyAll(filter, child, includedKeys);
+        }
+    }
+
+    /**
+     * Scenario keys in tree order.
+     */
+    static List<String> keys(TestDescriptor root) {
+        List<String> keys = new ArrayList<>();
+        for (TestDescriptor child : root.getChildren()) {
+            if (child.isTest()) {
+                LongestFirstOrderingFilter.scenarioKey(child.getUniqueId()).ifPresent(keys::add);
+            }
+            keys.addAll(keys(child));
+        }
+        return keys;
+    }
+
+    private static TestDescriptor add(TestDescriptor parent, TestDescriptor child) {
+        parent.addChild(child);
+        return child;
+    }
+
+    private static final class Node extends AbstractTestDescriptor {
+
+        private final Type type;
+
+        Node(UniqueId id, Type type) {
+            super(id, id.getLastSegment().getValue());
+            this.type = type;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+    }
+}
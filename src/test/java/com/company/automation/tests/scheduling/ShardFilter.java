@@ -0,0 +1,114 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps only this shard's scenarios when running with -Dshard.total=N -Dshard.index=i.
+ *
+ * All scenarios in the discovered tree are partitioned by estimated duration (from the shared history file,
+ * see {@link ScenarioDurationStore}): longest first, each onto the shard with the least estimated work so far,
+ * ties broken by scenario key and shard index. Every shard computes the same partition from the same feature
+ * files and history, so no coordination is needed, and shards finish at about the same time rather than
+ * merely running the same number of scenarios.
+ *
+ * Registered through META-INF/services; a no-op unless shard.total &gt; 1. Scenarios excluded by impact selection
+ * ({@link ImpactFilter}) are left out of the partition.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardFilter.class);
+
+    private final Map<TestDescriptor, Map<String, Integer>> assignments = new IdentityHashMap<>();
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (!Sharding.isSharded()) {
+            return FilterResult.included("not sharded");
+        }
+        Optional<String> key = LongestFirstOrderingFilter.scenarioKey(descriptor.getUniqueId());
+        if (!descriptor.isTest() || key.isEmpty()) {
+            return FilterResult.included("container");
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        Map<String, Integer> assignment = assignments.computeIfAbsent(root, this::partition);
+        int shard = assignment.getOrDefault(key.get(), 0);
+        return shard == Sharding.index()
+                ? FilterResult.included("shard " + shard)
+                : FilterResult.excluded("belongs to shard " + shard + " of " + Sharding.total());
+    }
+
+    private Map<String, Integer> partition(TestDescriptor root) {
+        ScenarioDurationStore store = ScenarioDurationStore.load(ScenarioDurationStore.defaultFile());
+        Map<String, Long> estimates = new HashMap<>();
+        collect(root, store, estimates);
+
+        int total = Sharding.total();
+        Map<String, Integer> assignment = assign(estimates, total);
+        long[] loads = new long[total];
+        int[] counts = new int[total];
+        assignment.forEach((key, shard) -> {
+            loads[shard] += estimates.get(key);
+            counts[shard]++;
+        });
+
+        int index = Sharding.index();
+        log.info("[Shard] {}/{}: {} of {} scenario(s), estimated {}ms (all shards: {})",
+                index + 1, total, counts[index], estimates.size(), loads[index], Arrays.toString(loads));
+        return assignment;
+    }
+
+    /**
+     * Shard per scenario key: longest first onto the least-loaded shard, ties going to the lower key and the
+     * lower shard index, so the result depends only on the estimates.
+     */
+    static Map<String, Integer> assign(Map<String, Long> estimates, int total) {
+        List<String> keys = new ArrayList<>(estimates.keySet());
+        keys.sort(Comparator.<String>comparingLong(estimates::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        long[] loads = new long[total];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String key : keys) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            assignment.put(key, lightest);
+            loads[lightest] += estimates.get(key);
+        }
+        return assignment;
+    }
+
+    private static void collect(TestDescriptor descriptor, ScenarioDurationStore store, Map<String, Long> estimates) {
+        Optional<String> key = LongestFirstOrderingFilter.scenarioKey(descriptor.getUniqueId());
+        // Under impact selection only the selected scenarios are balanced
+        if (descriptor.isTest() && key.isPresent() && ImpactFilter.selects(key.get())) {
+            List<String> tags = new ArrayList<>();
+            for (TestTag tag : descriptor.getTags()) {
+                tags.add(tag.getName());
+            }
+            estimates.put(key.get(), store.estimateMillis(key.get(), tags));
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            collect(child, store, estimates);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.company.automation.tests.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestDescriptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Duration-balanced partition of scenarios across shards.
+ */
+class ShardFilterTest {
+
+    private static final String FEATURE = "classpath:features/checkout.feature";
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty("shard.total");
+        System.clearProperty("shard.index");
+        System.clearProperty("scheduler.history.file");
+    }
+
+    @Test
+    void assignsLongestFirstToTheLeastLoadedShard() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        for (int i = 1; i <= 8; i++) {
+            estimates.put("s" + i, i * 1000L);
+        }
+
+        Map<String, Integer> assignment = ShardFilter.assign(estimates, 3);
+
+        // 8 7 6 | 5 onto 6 | 4 onto 7 | 3 onto 8 | 2 onto the first of three 11s | 1 onto the first of two 11s
+        assertEquals(Map.of("s8", 0, "s7", 1, "s6", 2, "s5", 2, "s4", 1, "s3", 0, "s2", 0, "s1", 1), assignment);
+        assertArrayEquals(new long[] {13000, 12000, 11000}, loads(estimates, assignment, 3));
+    }
+
+    @Test
+    void breaksTiesByKeyThenShardIndex() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("b", 100L);
+        estimates.put("c", 100L);
+        estimates.put("a", 100L);
+
+        assertEquals(Map.of("a", 0, "b", 1, "c", 0), ShardFilter.assign(estimates, 2));
+    }
+
+    @Test
+    void partitionDoesNotDependOnDiscoveryOrder() {
+        Map<String, Long> forward = new LinkedHashMap<>();
+        Map<String, Long> backward = new LinkedHashMap<>();
+        long[] millis = {4200, 900, 4200, 30000, 15, 900, 7000, 7000, 1};
+        for (int i = 0; i < millis.length; i++) {
+            forward.put("k" + i, millis[i]);
+        }
+        for (int i = millis.length - 1; i >= 0; i--) {
+            backward.put("k" + i, millis[i]);
+        }
+
+        assertEquals(ShardFilter.assign(forward, 4), ShardFilter.assign(backward, 4));
+    }
+
+    @Test
+    void shardsTogetherRunEveryScenarioExactlyOnce() throws IOException {
+        Path history = dir.resolve("durations.json");
+        StringBuilder json = new StringBuilder("{");
+        for (int line = 1; line <= 10; line++) {
+            json.append(line == 1 ? "" : ",")
+                    .append('"').append(FEATURE).append(':').append(line * 10).append("\": {\"millis\": ")
+                    .append(line * 700).append(", \"runs\": 1}");
+        }
+        Files.writeString(history, json.append('}').toString());
+        System.setProperty("scheduler.history.file", history.toString());
+        System.setProperty("shard.total", "3");
+
+        Set<String> all = new HashSet<>();
+        List<Set<String>> shards = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            System.setProperty("shard.index", String.valueOf(index));
+            // Each shard discovers the same tree in its own JVM
+            TestDescriptor root = ScenarioTree.engine();
+            TestDescriptor feature = ScenarioTree.feature(root, FEATURE);
+            for (int line = 1; line <= 10; line++) {
+                ScenarioTree.scenario(feature, line * 10);
+            }
+            all.addAll(ScenarioTree.keys(root));
+            List<String> included = new ArrayList<>();
+            ScenarioTree.applyAll(new ShardFilter(), root, included);
+            shards.add(new HashSet<>(included));
+        }
+
+        Set<String> union = new HashSet<>();
+        for (Set<String> shard : shards) {
+            assertFalse(shard.isEmpty());
+            for (String key : shard) {
+                assertTrue(union.add(key), key + " runs on two shards");
+            }
+        }
+        assertEquals(all, union);
+    }
+
+    private static long[] loads(Map<String, Long> estimates, Map<String, Integer> assignment, int total) {
+        long[] loads = new long[total];
+        assignment.forEach((key, shard) -> loads[shard] += estimates.get(key));
+        return loads;
+    }
+}
@@ -0,0 +1,247 @@
+package com.company.automation.tests.scheduling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Combines the output of a sharded run (one target/shard-&lt;index&gt;/ directory per shard, locally or downloaded
+ * from CI agents) into what a single run would have produced:
+ *  - target/allure-results: all shards' result files (their names are UUIDs, so they never collide)
+ *  - target/metrics/ui-metrics.prom: the timing histograms, bucket counts added up across shards
+ *  - the duration history file: each shard's updated entries, ready for the next partition
+ *  - target/shard-summary.json: estimated vs. actual time per shard; the run's makespan is the slowest shard
+ *
+ * Usage: ShardMerge [output-dir [shard-dir...]], by default target and every target/shard-* directory.
+ * Run with mvn -Pmerge-shards test-compile exec:java.
+ */
+public final class ShardMerge {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardMerge.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // metric{labels} value, labels optional
+    private static final Pattern SAMPLE = Pattern.compile("^([^{\\s]+)(?:\\{(.*)})?\\s+(\\S+)$");
+    private static final Pattern LE = Pattern.compile(",?le=\"([^\"]+)\"$");
+
+    private ShardMerge() {
+        // entry point only
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "target");
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Paths.get(args[i]));
+        }
+        if (shards.isEmpty()) {
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(output, "shard-*")) {
+                for (Path dir : dirs) {
+                    if (Files.isDirectory(dir)) {
+                        shards.add(dir);
+                    }
+                }
+            }
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard directories found under " + output.toAbsolutePath());
+        }
+        shards.sort(null);
+        merge(output, shards);
+    }
+
+    static void merge(Path output, List<Path> shards) throws IOException {
+        int results = copyAllureResults(output.resolve("allure-results"), shards);
+        mergePrometheus(output.resolve("metrics").resolve("ui-metrics.prom"), shards);
+        int scenarios = mergeHistory(shards);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long makespan = 0;
+        long predicted = 0;
+        for (Path shard : shards) {
+            Path report = shard.resolve(ScenarioSchedulePlugin.REPORT_FILE);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("shard", shard.getFileName().toString());
+            if (Files.isRegularFile(report)) {
+                JsonNode summary = MAPPER.readTree(report.toFile()).path("summary");
+                row.put("scenarios", summary.path("scenarios").asInt());
+                row.put("workers", summary.path("workers").asInt());
+                row.put("predictedMakespanMillis", summary.path("predictedMakespanMillis").asLong());
+                row.put("actualMakespanMillis", summary.path("actualMakespanMillis").asLong());
+                makespan = Math.max(makespan, summary.path("actualMakespanMillis").asLong());
+                predicted = Math.max(predicted, summary.path("predictedMakespanMillis").asLong());
+            } else {
+                row.put("missing", report.toString());
+            }
+            rows.add(row);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("shards", shards.size());
+        summary.put("allureResults", results);
+        summary.put("historyEntriesUpdated", scenarios);
+        summary.put("predictedMakespanMillis", predicted);
+        summary.put("actualMakespanMillis", makespan);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("summary", summary);
+        report.put("shards", rows);
+        Path file = output.resolve("shard-summary.json");
+        Files.createDirectories(output);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("[Shard] Merged {} shard(s): {} Allure result file(s), {} history entr(ies), "
+                + "makespan predicted {}ms vs actual {}ms",
+                shards.size(), results, scenarios, predicted, makespan);
+    }
+
+    private static int copyAllureResults(Path target, List<Path> shards) throws IOException {
+        Files.createDirectories(target);
+        int copied = 0;
+        for (Path shard : shards) {
+            Path source = shard.resolve("allure-results");
+            if (!Files.isDirectory(source)) {
+                log.warn("[Shard] No allure-results in {}", shard);
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(source)) {
+                for (Path file : files) {
+                    if (Files.isRegularFile(file)) {
+                        Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                        copied++;
+                    }
+                }
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Histograms are exported with cumulative buckets, and each shard only lists the buckets it used. Per series,
+     * the merged count at a bound is the sum of every shard's count at its largest bound not above it.
+     * Counters (and histogram sums and counts) are simply added up.
+     */
+    private static void mergePrometheus(Path target, List<Path> shards) throws IOException {
+        Map<String, List<String>> seriesByMetric = new TreeMap<>();
+        Map<String, List<TreeMap<Double, Double>>> buckets = new LinkedHashMap<>();
+        Map<String, Double> totals = new LinkedHashMap<>();
+        Set<String> histograms = new HashSet<>();
+
+        for (Path shard : shards) {
+            Path file = shard.resolve("metrics").resolve("ui-metrics.prom");
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            Map<String, TreeMap<Double, Double>> shardBuckets = new LinkedHashMap<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Matcher sample = SAMPLE.matcher(line);
+                if (line.startsWith("#") || !sample.matches()) {
+                    continue;
+                }
+                String name = sample.group(1);
+                String labels = sample.group(2) == null ? "" : sample.group(2);
+                double value = Double.parseDouble(sample.group(3));
+                String metric = name.replaceAll("_(bucket|sum|count)$", "");
+                Matcher le = LE.matcher(labels);
+                if (name.endsWith("_bucket") && le.find()) {
+                    String series = name + "{" + labels.substring(0, le.start()) + "}";
+                    double bound = "+Inf".equals(le.group(1)) ? Double.POSITIVE_INFINITY : Double.parseDouble(le.group(1));
+                    shardBuckets.computeIfAbsent(series, key -> new TreeMap<>()).put(bound, value);
+                    histograms.add(metric);
+                    register(seriesByMetric, metric, series);
+                } else {
+                    String series = name + (labels.isEmpty() ? "" : "{" + labels + "}");
+                    totals.merge(series, value, Double::sum);
+                    register(seriesByMetric, metric, series);
+                }
+            }
+            for (Map.Entry<String, TreeMap<Double, Double>> entry : shardBuckets.entrySet()) {
+                buckets.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        if (seriesByMetric.isEmpty()) {
+            return;
+        }
+
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, List<String>> metric : seriesByMetric.entrySet()) {
+            out.append("# TYPE ").append(metric.getKey())
+                    .append(histograms.contains(metric.getKey()) ? " histogram\n" : " counter\n");
+            for (String series : metric.getValue()) {
+                if (totals.containsKey(series)) {
+                    out.append(series).append(' ').append(format(totals.get(series))).append('\n');
+                    continue;
+                }
+                List<TreeMap<Double, Double>> perShard = buckets.get(series);
+                TreeMap<Double, Double> bounds = new TreeMap<>();
+                for (TreeMap<Double, Double> shard : perShard) {
+                    bounds.putAll(shard);
+                }
+                String name = series.substring(0, series.indexOf('{'));
+                String labels = series.substring(series.indexOf('{') + 1, series.length() - 1);
+                for (Double bound : bounds.keySet()) {
+                    double count = 0;
+                    for (TreeMap<Double, Double> shard : perShard) {
+                        Map.Entry<Double, Double> floor = shard.floorEntry(bound);
+                        count += floor == null ? 0 : floor.getValue();
+                    }
+                    String le = bound.isInfinite() ? "+Inf" : format(bound);
+                    out.append(name).append('{').append(labels).append(labels.isEmpty() ? "" : ",")
+                            .append("le=\"").append(le).append("\"} ").append(format(count)).append('\n');
+                }
+            }
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Files.write(target, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void register(Map<String, List<String>> seriesByMetric, String metric, String series) {
+        List<String> known = seriesByMetric.computeIfAbsent(metric, key -> new ArrayList<>());
+        if (!known.contains(series)) {
+            known.add(series);
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    /**
+     * Shards start from the same history and each only updates its own scenarios, so the shard entries simply
+     * replace the shared ones.
+     */
+    private static int mergeHistory(List<Path> shards) {
+        ScenarioDurationStore history = ScenarioDurationStore.load(ScenarioDurationStore.defaultFile());
+        List<String> updated = new ArrayList<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve(ScenarioSchedulePlugin.HISTORY_FILE);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            for (Map.Entry<String, ScenarioDurationStore.Entry> entry : ScenarioDurationStore.load(file).entries().entrySet()) {
+                history.put(entry.getKey(), entry.getValue());
+                updated.add(entry.getKey());
+            }
+        }
+        if (!updated.isEmpty()) {
+            history.save(updated);
+        }
+        return updated.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.automation.tests.scheduling;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Shard settings of this JVM, from -Dshard.index (0-based) and -Dshard.total.
+ *
+ * Without sharding (total 1) everything runs here and reports go to target/. With sharding, each shard
+ * writes its reports and its slice of the duration history to target/shard-&lt;index&gt;/ so several shards can
+ * run side by side in one checkout; {@link ShardMerge} combines them afterwards.
+ */
+public final class Sharding {
+
+    private Sharding() {
+        // utility class
+    }
+
+    public static int total() {
+        int total = Integer.parseInt(System.getProperty("shard.total", "1").trim());
+        if (total < 1) {
+            throw new IllegalArgumentException("shard.total must be >= 1, got " + total);
+        }
+        return total;
+    }
+
+    public static int index() {
+        int index = Integer.parseInt(System.getProperty("shard.index", "0").trim());
+        if (index < 0 || index >= total()) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + total() + "), got " + index);
+        }
+        return index;
+    }
+
+    public static boolean isSharded() {
+        return total() > 1;
+    }
+
+    /**
+     * Directory for this JVM's reports: target/ or target/shard-&lt;index&gt;/.
+     */
+    public static Path outputDir() {
+        return isSharded() ? Paths.get("target", "shard-" + index()) : Paths.get("target");
+    }
+}
@@ -1,32 +1,79 @@
 package com.company.automation.tests.stepdefs;
 
+import com.company.automation.framework.config.ConfigurationManager;
+import com.company.automation.framework.core.Locators;
 import com.company.automation.framework.driver.BrowserType;
-import com.company.automation.framework.driver.DriverFactory;
 import com.company.automation.framework.driver.DriverManager;
+import com.company.automation.framework.driver.EnvironmentCircuitBreaker;
+import com.company.automation.framework.driver.ScenarioContext;
+import com.company.automation.framework.network.NetworkPolicy;
+import com.company.automation.framework.network.TrafficMeter;
 import com.company.automation.framework.pages.CartPage;
+import com.company.automation.framework.pages.CheckoutPage;
+import com.company.automation.framework.pages.InventoryPage;
+import com.company.automation.framework.pages.LoginPage;
+import com.company.automation.framework.reporting.FailureArtifactPipeline;
+import com.company.automation.tests.scheduling.Sharding;
 import io.cucumber.java.*;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.opentest4j.TestAbortedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
+import java.time.Duration;
 import java.util.Locale;
+import java.util.Optional;
 
 /**
- * Global Cucumber hooks for WebDriver lifecycle and failure screenshots.
+ * Global Cucumber hooks for WebDriver lifecycle and failure artifacts.
+ * Browser sessions are leased from / returned to DriverManager, which may pool them across scenarios.
+ *
+ * Every log event of a scenario carries its worker and scenario in the MDC ("worker", "scenario",
+ * "scenarioId"), so interleaved output of parallel workers can be split apart again.
+ *
+ * While the {@link EnvironmentCircuitBreaker} is open (base.url down), scenarios are skipped before a browser
+ * is started.
  */
 public class Hooks {
 
     private static final Logger log = LoggerFactory.getLogger(Hooks.class);
 
-    @Before
+    static final String MDC_WORKER = "worker";
+    static final String MDC_SCENARIO = "scenario";
+    static final String MDC_SCENARIO_ID = "scenarioId";
+
+    @BeforeAll
+    public static void beforeAllScenarios() {
+        // Validate every page's locators once, before the first browser starts.
+        Locators.preload(LoginPage.class, InventoryPage.class, CartPage.class, CheckoutPage.class);
+        // Is the application up at all? If not, scenarios are skipped instead of timing out one by one.
+        EnvironmentCircuitBreaker.shared().preflight();
+    }
+
+    @Before(order = 0)
     public void beforeScenario(Scenario scenario) {
-        // Determine browser from system property: -Dbrowser=chrome / chrome-headless / firefox / edge
+        // Driver and pool lease of this scenario, released again in afterScenario
+        ScenarioContext.open(scenario.getName());
+        String worker = Thread.currentThread().getName();
+        MDC.put(MDC_WORKER, Sharding.isSharded() ? "shard-" + Sharding.index() + "/" + worker : worker);
+        MDC.put(MDC_SCENARIO, scenario.getName());
+        MDC.put(MDC_SCENARIO_ID, scenario.getId());
+
+        Optional<String> skipReason = EnvironmentCircuitBreaker.shared().skipReason();
+        if (skipReason.isPresent()) {
+            log.warn("=== Skipping scenario: {} - {} ===", scenario.getName(), skipReason.get());
+            // Reported as skipped, not failed
+            throw new TestAbortedException(skipReason.get());
+        }
+
+        // Determine browser from system property: -Dbrowser=chrome / chrome-headless / firefox / edge / htmlunit
         String browserProp = System.getProperty("browser", "chrome").toLowerCase(Locale.ROOT);
         BrowserType browserType;
 
-        if (browserProp.contains("firefox")) {
+        if (browserProp.contains("htmlunit") || isLightweight(scenario)) {
+            browserType = BrowserType.HTMLUNIT;
+        } else if (browserProp.contains("firefox")) {
             browserType = BrowserType.FIREFOX;
         } else if (browserProp.contains("edge")) {
             browserType = BrowserType.EDGE;
@@ -34,30 +81,76 @@ public class Hooks {
             browserType = BrowserType.CHROME;
         }
 
-        WebDriver driver = DriverFactory.createInstance(browserType);
-        DriverManager.setDriver(driver);
+        // Leases a warm session when driver.pool.enabled=true, otherwise starts a fresh browser.
+        WebDriver driver = DriverManager.acquire(browserType);
+
+        // A pooled session's traffic counters still hold the previous scenario.
+        TrafficMeter traffic = NetworkPolicy.meter(driver);
+        if (traffic != null) {
+            traffic.reset();
+        }
+
+        log.info("=== Starting scenario: {} on browser: {} ===", scenario.getName(), browserType);
+    }
 
-        log.info("=== Starting scenario: " + scenario.getName() + " on browser: " + browserType + " ===");
+    /**
+     * Scenarios tagged @lightweight don't need rendering and may run on the in-process HtmlUnit driver
+     * instead of a real browser, when lightweight.enabled=true.
+     */
+    private static boolean isLightweight(Scenario scenario) {
+        return scenario.getSourceTagNames().contains("@lightweight")
+                && ConfigurationManager.getBoolean("lightweight.enabled", false);
     }
 
-    @After
+    @After(order = 0)
     public void afterScenario(Scenario scenario) {
         try {
+            if (scenario.getStatus() != Status.SKIPPED) {
+                EnvironmentCircuitBreaker.shared().scenarioFinished();
+            }
+            reportTraffic(scenario);
             if (scenario.isFailed()) {
                 try {
-                    WebDriver driver = DriverManager.getDriver();
-                    if (driver instanceof TakesScreenshot) {
-                        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                        scenario.attach(screenshot, "image/png", "Failure screenshot");
-                    }
+                    // Screenshot, DOM, console log and URL are grabbed now; encoding and writing
+                    // to allure-results happen in the background so the browser is released right away.
+                    FailureArtifactPipeline.shared().capture(DriverManager.getDriver(), "Failure");
                 } catch (IllegalStateException e) {
                     // Driver was never created (e.g., session failure in @Before) – just skip screenshot.
-                    log.info("No WebDriver available for screenshot: " + e.getMessage());
+                    log.info("No WebDriver available for screenshot: {}", e.getMessage());
                 }
             }
         } finally {
-            // Quit if present; DriverManager.quit() already handles null safely.
-            DriverManager.quit();
+            // Return the session to the pool (or quit it when pooling is off); handles null safely.
+            DriverManager.release();
+            // Worker threads are reused for the next scenario.
+            ScenarioContext.close();
+            MDC.remove(MDC_WORKER);
+            MDC.remove(MDC_SCENARIO);
+            MDC.remove(MDC_SCENARIO_ID);
+        }
+    }
+
+    private static void reportTraffic(Scenario scenario) {
+        try {
+            TrafficMeter traffic = NetworkPolicy.meter(DriverManager.getDriver());
+            if (traffic != null) {
+                scenario.log("Network: " + traffic.summary());
+                log.info("[Network] {}: {}", scenario.getName(), traffic.summary());
+            }
+        } catch (IllegalStateException e) {
+            // No driver for this scenario; nothing was transferred.
+        }
+    }
+
+    @AfterAll
+    public static void afterAllScenarios() {
+        log.info("[Network] Run total: {}", TrafficMeter.runSummary());
+        // Make sure every queued failure artifact is in allure-results before the report is generated.
+        FailureArtifactPipeline.flushShared(Duration.ofSeconds(60));
+        String circuit = EnvironmentCircuitBreaker.shared().summary();
+        if (circuit != null) {
+            // Skipped scenarios alone would leave the build green while the environment is down
+            throw new IllegalStateException("Environment unavailable during the run: circuit " + circuit);
         }
     }
 
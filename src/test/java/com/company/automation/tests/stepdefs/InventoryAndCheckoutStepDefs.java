@@ -33,8 +33,8 @@ public class InventoryAndCheckoutStepDefs {
 
     @Given("I am logged in to Swag Labs as a standard user")
     public void i_am_logged_in_to_swag_labs_as_standard_user() {
-        loginPage.open();
-        loginPage.loginAs("standard_user", "secret_sauce");
+        // Restores a saved session checkpoint when there is one, otherwise logs in through the UI.
+        loginPage.ensureLoggedInAs("standard_user", "secret_sauce");
 
         boolean onProductsPage = loginPage.isProductsPageDisplayed();
         String currentUrl = DriverManager.getDriver().getCurrentUrl();
@@ -69,10 +69,10 @@ public class InventoryAndCheckoutStepDefs {
             double price = inventoryPage.getProductPrice(productName);
             expectedItemTotal += price;
 
-            log.info("[StepDefs] Added '" + productName + "' with price " + price);
+            log.info("[StepDefs] Added '{}' with price {}", productName, price);
         }
 
-        log.info("[StepDefs] Expected item total from selected products: " + expectedItemTotal);
+        log.info("[StepDefs] Expected item total from selected products: {}", expectedItemTotal);
 
         // Go to cart
         inventoryPage.goToCart();
@@ -96,7 +96,7 @@ public class InventoryAndCheckoutStepDefs {
     @Then("the item total on the checkout page should equal the sum of selected products")
     public void the_item_total_on_the_checkout_page_should_equal_the_sum_of_selected_products() {
         double actualItemTotal = checkoutPage.getItemTotal();
-        log.info("[StepDefs] Actual item total from checkout summary: " + actualItemTotal);
+        log.info("[StepDefs] Actual item total from checkout summary: {}", actualItemTotal);
 
         // We can allow a very small delta for floating point comparisons
         Assertions.assertEquals(expectedItemTotal, actualItemTotal, 0.01,
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Assertions;
 public class LoginStepDefs {
 
     private final LoginPage loginPage = new LoginPage();
+    private String username;
 
     @Given("I am on the Swag Labs login page")
     public void iAmOnTheSwagLabsLoginPage() {
@@ -20,6 +21,7 @@ public class LoginStepDefs {
 
     @When("I login as {string} with password {string}")
     public void iLoginAsWithPassword(String username, String password) {
+        this.username = username;
         loginPage.loginAs(username, password);
     }
 
@@ -30,5 +32,9 @@ public class LoginStepDefs {
                 onProducts,
                 "Expected to be on Swag Labs products page after login, but products title was not visible."
         );
+        // This scenario tests the login form itself; reuse its result to seed the checkpoint for other scenarios.
+        if (username != null) {
+            loginPage.checkpointSession(username);
+        }
     }
 }
@@ -1,4 +1,4 @@
-@login @swaglabs @regression @smoke
+@login @swaglabs @regression @smoke @lightweight
 Feature: Swag Labs login
 
   Scenario: Valid standard user can log in successfully
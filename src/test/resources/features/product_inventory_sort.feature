@@ -1,6 +1,7 @@
 @swaglabs @inventory @regression @smoke
 Feature: Swag Labs inventory filtering
 
+  @lightweight
   Scenario: Standard user can see a specific product in the inventory
     Given I am logged in to Swag Labs as a standard user
     When I am on the products page